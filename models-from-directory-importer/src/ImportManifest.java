@@ -0,0 +1,188 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.osgi.framework.FrameworkUtil;
+
+/**
+ * Remembers which project folders have been imported, so that unchanged
+ * folders are skipped on the next start without parsing their
+ * {@code .project} file.
+ *
+ * The manifest is stored in the state location of the plug-in and maps the
+ * path of a project folder to the modification time, size and SHA-256 hash
+ * of its {@code .project} file and the name of the project.
+ */
+class ImportManifest {
+    private static final String FILE_NAME = "import-manifest.properties";
+    private static final String SEPARATOR = ";";
+
+    private static class Entry {
+        final long lastModified;
+        final long size;
+        final String hash;
+        final String projectName;
+
+        Entry(long lastModified, long size, String hash, String projectName) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.hash = hash;
+            this.projectName = projectName;
+        }
+
+        static Entry parse(String value) {
+            String[] fields = value.split(SEPARATOR, 4);
+            if (fields.length != 4) {
+                return null;
+            }
+            try {
+                return new Entry(Long.parseLong(fields[0]), Long.parseLong(fields[1]), fields[2], fields[3]);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        String format() {
+            return lastModified + SEPARATOR + size + SEPARATOR + hash + SEPARATOR + projectName;
+        }
+    }
+
+    private final File file;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private ImportManifest(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Loads the manifest from the state location of the plug-in. Returns an
+     * empty manifest if there is none yet or it cannot be read.
+     */
+    static ImportManifest load() {
+        File stateLocation = Platform.getStateLocation(FrameworkUtil.getBundle(Main.class)).toFile();
+        return load(new File(stateLocation, FILE_NAME));
+    }
+
+    /**
+     * Loads the manifest from the given file, see {@link #load()}.
+     */
+    static ImportManifest load(File file) {
+        ImportManifest manifest = new ImportManifest(file);
+        if (!manifest.file.isFile()) {
+            return manifest;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(manifest.file.toPath())) {
+            properties.load(in);
+        } catch (IOException e) {
+            String msg = "Cannot read import manifest '" + manifest.file.getPath() + "', importing all projects.";
+            Main.log(IStatus.WARNING, msg, e);
+            return manifest;
+        }
+        for (String directory : properties.stringPropertyNames()) {
+            Entry entry = Entry.parse(properties.getProperty(directory));
+            if (entry != null) {
+                manifest.entries.put(directory, entry);
+            }
+        }
+        return manifest;
+    }
+
+    private static File getDescriptionFile(File projectDirectory) {
+        return new File(projectDirectory, IProjectDescription.DESCRIPTION_FILE_NAME);
+    }
+
+    private static String getKey(File projectDirectory) {
+        return projectDirectory.getAbsolutePath();
+    }
+
+    private static String hash(File file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        StringBuilder hash = new StringBuilder();
+        for (byte b : digest.digest(Files.readAllBytes(file.toPath()))) {
+            hash.append(String.format("%02x", b));
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Returns the name of the project imported from the folder if its
+     * {@code .project} file has not changed since, or {@code null}. The file
+     * is only hashed if its modification time changed but not its size.
+     */
+    String getUnchangedProjectName(File projectDirectory) {
+        Entry entry = entries.get(getKey(projectDirectory));
+        if (entry == null) {
+            return null;
+        }
+        File descriptionFile = getDescriptionFile(projectDirectory);
+        long lastModified = descriptionFile.lastModified();
+        long size = descriptionFile.length();
+        if (size != entry.size) {
+            return null;
+        }
+        if (lastModified == entry.lastModified) {
+            return entry.projectName;
+        }
+        try {
+            String hash = hash(descriptionFile);
+            if (!hash.equals(entry.hash)) {
+                return null;
+            }
+            entries.put(getKey(projectDirectory), new Entry(lastModified, size, hash, entry.projectName));
+            return entry.projectName;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    void put(File projectDirectory, String projectName) {
+        File descriptionFile = getDescriptionFile(projectDirectory);
+        try {
+            entries.put(getKey(projectDirectory), new Entry(descriptionFile.lastModified(), descriptionFile.length(),
+                    hash(descriptionFile), projectName));
+        } catch (IOException e) {
+            entries.remove(getKey(projectDirectory));
+        }
+    }
+
+    /**
+     * Writes the manifest, replacing the previous one atomically.
+     */
+    synchronized void save() {
+        Properties properties = new Properties();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            properties.setProperty(entry.getKey(), entry.getValue().format());
+        }
+        File temporaryFile = new File(file.getParentFile(), file.getName() + ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temporaryFile.toPath())) {
+                properties.store(out, "Project folders imported by the models-from-directory-importer");
+            }
+            Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            String msg = "Cannot write import manifest '" + file.getPath() + "'.";
+            Main.log(IStatus.WARNING, msg, e);
+        }
+    }
+}
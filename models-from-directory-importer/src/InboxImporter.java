@@ -0,0 +1,247 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Path;
+
+/**
+ * Finds project folders in the inbox directories and imports them into the
+ * workspace.
+ *
+ * Inbox directories and their subfolders are searched in parallel up to a
+ * maximum depth, where depth 0 means that the inbox directories themselves
+ * are the project folders. The project descriptions are read in parallel and
+ * all projects are created in a single workspace operation, so that the
+ * workspace is locked and its listeners are notified only once. Folders that
+ * are unchanged since their last import according to the
+ * {@link ImportManifest} are skipped.
+ */
+class InboxImporter {
+    /**
+     * Outcome of an import of project folders.
+     */
+    static class Result {
+        private final List<String> createdProjectNames = new ArrayList<>();
+        private final Set<File> importedDirectories = new HashSet<>();
+
+        /**
+         * Returns the names of the projects that were created.
+         */
+        List<String> getCreatedProjectNames() {
+            return createdProjectNames;
+        }
+
+        /**
+         * Returns the folders whose project is in the workspace at that
+         * location, whether created now or imported before. Folders that
+         * could not be imported, e.g. because their {@code .project} file
+         * cannot be read yet, are not included.
+         */
+        Set<File> getImportedDirectories() {
+            return importedDirectories;
+        }
+    }
+
+    private static class Candidate {
+        final File directory;
+        IProjectDescription description;
+        long loadNanos;
+
+        Candidate(File directory) {
+            this.directory = directory;
+        }
+    }
+
+    private static ImportManifest manifest;
+
+    private static synchronized ImportManifest getManifest() {
+        if (manifest == null) {
+            manifest = ImportManifest.load();
+        }
+        return manifest;
+    }
+
+    /**
+     * Whether the project in the folder has been imported before and neither
+     * its {@code .project} file has changed nor the project has been removed
+     * from the workspace since.
+     */
+    private static boolean isUnchanged(IWorkspace workspace, ImportManifest manifest, File projectDirectory) {
+        String projectName = manifest.getUnchangedProjectName(projectDirectory);
+        return projectName != null && workspace.getRoot().getProject(projectName).exists();
+    }
+
+    private static boolean isLocatedIn(IProject project, File directory) {
+        IPath location = project.getLocation();
+        return location != null
+                && location.toFile().toPath().normalize().equals(directory.getAbsoluteFile().toPath().normalize());
+    }
+
+    private static boolean isProjectDirectory(File directory) {
+        return new File(directory, IProjectDescription.DESCRIPTION_FILE_NAME).isFile();
+    }
+
+    private static Stream<File> findProjectDirectories(File directory, int remainingDepth) {
+        if (isProjectDirectory(directory)) {
+            // Projects are not searched for nested projects
+            return Stream.of(directory);
+        }
+        if (remainingDepth <= 0) {
+            return Stream.empty();
+        }
+        File[] subdirectories = directory.listFiles(file -> file.isDirectory() && !file.getName().startsWith("."));
+        if (subdirectories == null) {
+            return Stream.empty();
+        }
+        return Arrays.stream(subdirectories).parallel()
+                .flatMap(subdirectory -> findProjectDirectories(subdirectory, remainingDepth - 1));
+    }
+
+    /**
+     * Returns the project folders in the inbox directories, searching at most
+     * {@code maxDepth} levels of subfolders.
+     */
+    static List<File> findProjectDirectories(List<File> inboxDirectories, int maxDepth) {
+        return inboxDirectories.parallelStream()
+                .flatMap(inboxDirectory -> {
+                    if (!inboxDirectory.isDirectory()) {
+                        String msg = "Directory '" + inboxDirectory.getPath() + "' does not exist.";
+                        Main.log(IStatus.WARNING, msg, null);
+                        return Stream.empty();
+                    }
+                    List<File> projectDirectories = findProjectDirectories(inboxDirectory, maxDepth)
+                            .collect(Collectors.toList());
+                    if (projectDirectories.isEmpty()) {
+                        String msg = "Folder '" + inboxDirectory.getPath() + "' does not ";
+                        msg += maxDepth == 0 ? "contain .project file. The project cannot be imported."
+                                : "contain any project up to depth " + maxDepth + ".";
+                        Main.log(IStatus.WARNING, msg, null);
+                    }
+                    return projectDirectories.stream();
+                })
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    private static Candidate loadDescription(IWorkspace workspace, File projectDirectory) {
+        Candidate candidate = new Candidate(projectDirectory);
+        long start = System.nanoTime();
+        File dotProjectFile = new File(projectDirectory, IProjectDescription.DESCRIPTION_FILE_NAME);
+        try {
+            candidate.description = workspace.loadProjectDescription(new Path(dotProjectFile.getAbsolutePath()));
+        } catch (CoreException e) {
+            String msg = "Cannot read project description of '" + projectDirectory.getPath() + "'.";
+            Main.log(IStatus.ERROR, msg, e);
+        }
+        candidate.loadNanos = System.nanoTime() - start;
+        return candidate;
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * Imports the projects in the given folders.
+     */
+    static Result importProjects(List<File> projectDirectories) {
+        Result result = new Result();
+        if (projectDirectories.isEmpty()) {
+            return result;
+        }
+        IWorkspace workspace = ResourcesPlugin.getWorkspace();
+        ImportManifest manifest = getManifest();
+        Map<Boolean, List<File>> partitioned = projectDirectories.parallelStream()
+                .collect(Collectors.partitioningBy(projectDirectory -> isUnchanged(workspace, manifest,
+                        projectDirectory)));
+        List<File> unchanged = partitioned.get(true);
+        for (File projectDirectory : unchanged) {
+            result.importedDirectories.add(projectDirectory);
+        }
+        List<Candidate> candidates = partitioned.get(false).parallelStream()
+                .map(projectDirectory -> loadDescription(workspace, projectDirectory))
+                .collect(Collectors.toList());
+        if (!unchanged.isEmpty()) {
+            String msg = "Skipped " + unchanged.size() + " unchanged project folders listed in the import manifest.";
+            Main.log(IStatus.INFO, msg, null);
+        }
+
+        List<String> imported = result.createdProjectNames;
+        IWorkspaceRunnable createProjects = monitor -> {
+            Set<String> names = new HashSet<>();
+            for (Candidate candidate : candidates) {
+                if (candidate.description == null) {
+                    continue;
+                }
+                String name = candidate.description.getName();
+                IProject project = workspace.getRoot().getProject(name);
+                if (project.exists() || !names.add(name)) {
+                    String msg = "Project '" + name + "' does already exist.";
+                    Main.log(IStatus.INFO, msg, null);
+                    continue;
+                }
+                long start = System.nanoTime();
+                try {
+                    project.create(candidate.description, monitor);
+                } catch (CoreException e) {
+                    String msg = "Cannot import project '" + name + "' from '" + candidate.directory.getPath() + "'.";
+                    Main.log(IStatus.ERROR, msg, e);
+                    continue;
+                }
+                imported.add(name);
+                long createNanos = System.nanoTime() - start;
+                String msg = "Imported project '" + name + "' in " + toMillis(candidate.loadNanos + createNanos)
+                        + " ms (reading description " + toMillis(candidate.loadNanos) + " ms, creating "
+                        + toMillis(createNanos) + " ms)";
+                Main.log(IStatus.INFO, msg, null);
+            }
+        };
+        try {
+            workspace.run(createProjects, workspace.getRoot(), IWorkspace.AVOID_UPDATE, null);
+        } catch (CoreException e) {
+            Main.log(IStatus.ERROR, "Cannot import projects.", e);
+        }
+        if (!candidates.isEmpty()) {
+            for (Candidate candidate : candidates) {
+                if (candidate.description == null) {
+                    continue;
+                }
+                String name = candidate.description.getName();
+                IProject project = workspace.getRoot().getProject(name);
+                if (!project.exists()) {
+                    continue;
+                }
+                // A project of the same name from another folder must not mark this one as imported
+                if (isLocatedIn(project, candidate.directory)) {
+                    manifest.put(candidate.directory, name);
+                    result.importedDirectories.add(candidate.directory);
+                } else {
+                    String msg = "Project '" + name + "' from '" + candidate.directory.getPath()
+                            + "' is not imported, the workspace already contains a project of that name at '"
+                            + project.getLocation() + "'.";
+                    Main.log(IStatus.WARNING, msg, null);
+                }
+            }
+            manifest.save();
+        }
+        return result;
+    }
+}
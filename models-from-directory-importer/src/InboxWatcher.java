@@ -0,0 +1,264 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.resources.WorkspaceJob;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+
+/**
+ * Watches the inbox directories for project folders that are added or
+ * removed after startup.
+ *
+ * File events are debounced: the inbox directories are only searched again
+ * when no event arrived for the debounce delay, or when events have kept
+ * arriving for ten times that delay. Only entries of the inbox directories
+ * and of their subfolders up to the scan depth are watched, not the files
+ * written inside a project folder, so a project may be found while its
+ * folder is still being written. New projects are imported, and optionally
+ * projects whose folder vanished are closed, in a workspace job. Folders
+ * count as known only once their project has been imported; the others are
+ * tried again with each search and, without further events, after a delay
+ * that doubles with each failed attempt. Inbox directories that do not exist
+ * yet are picked up once they are created, by watching their nearest
+ * existing parent.
+ */
+class InboxWatcher implements Runnable {
+    private static final int MAX_DEBOUNCE_FACTOR = 10;
+    private static final int MAX_RETRY_FACTOR = 300;
+
+    private final List<File> inboxDirectories;
+    private final int scanDepth;
+    private final long debounceMillis;
+    private final boolean closeRemovedProjects;
+    private final WatchService watchService;
+    private final Map<File, WatchKey> watchKeys = new HashMap<>();
+    private final Set<File> projectDirectories;
+    private long retryFactor = MAX_DEBOUNCE_FACTOR;
+    private long retryAt;
+
+    /**
+     * @param projectDirectories the folders whose projects have been imported
+     *                           already
+     */
+    InboxWatcher(List<File> inboxDirectories, int scanDepth, long debounceMillis, boolean closeRemovedProjects,
+            Set<File> projectDirectories) throws IOException {
+        this.inboxDirectories = inboxDirectories;
+        this.scanDepth = scanDepth;
+        this.debounceMillis = debounceMillis;
+        this.closeRemovedProjects = closeRemovedProjects;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.projectDirectories = new HashSet<>(projectDirectories);
+    }
+
+    /**
+     * Starts watching in a daemon thread.
+     */
+    void start() {
+        registerDirectories();
+        Thread thread = new Thread(this, "Model inbox watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static boolean isProjectDirectory(File directory) {
+        return new File(directory, IProjectDescription.DESCRIPTION_FILE_NAME).isFile();
+    }
+
+    /**
+     * Collects the directories whose entries may become projects: the inbox
+     * directory itself and its subfolders up to the scan depth that are not
+     * projects yet. Removed projects are noticed by the watch of their
+     * parent.
+     */
+    private static void collectDirectories(File directory, int remainingDepth, Set<File> directories) {
+        directories.add(directory);
+        if (remainingDepth <= 0) {
+            return;
+        }
+        File[] subdirectories = directory.listFiles(file -> file.isDirectory() && !file.getName().startsWith("."));
+        if (subdirectories == null) {
+            return;
+        }
+        for (File subdirectory : subdirectories) {
+            if (!isProjectDirectory(subdirectory)) {
+                collectDirectories(subdirectory, remainingDepth - 1, directories);
+            }
+        }
+    }
+
+    /**
+     * Updates the watched directories, e.g. after folders were added or have
+     * become projects.
+     */
+    private void registerDirectories() {
+        Set<File> directories = new HashSet<>();
+        for (File inboxDirectory : inboxDirectories) {
+            if (inboxDirectory.isDirectory()) {
+                collectDirectories(inboxDirectory, scanDepth, directories);
+                continue;
+            }
+            File parent = inboxDirectory.getAbsoluteFile().getParentFile();
+            while (parent != null && !parent.isDirectory()) {
+                parent = parent.getParentFile();
+            }
+            if (parent != null) {
+                directories.add(parent);
+            }
+        }
+        watchKeys.entrySet().removeIf(entry -> {
+            if (directories.contains(entry.getKey()) && entry.getValue().isValid()) {
+                return false;
+            }
+            entry.getValue().cancel();
+            return true;
+        });
+        for (File directory : directories) {
+            if (watchKeys.containsKey(directory)) {
+                continue;
+            }
+            try {
+                watchKeys.put(directory, directory.toPath().register(watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE));
+            } catch (IOException e) {
+                String msg = "Cannot watch directory '" + directory.getPath() + "'.";
+                Main.log(IStatus.WARNING, msg, e);
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        long firstEventAt = 0;
+        try {
+            // Folders added between the initial import and the registration have no events
+            rescan();
+            while (true) {
+                WatchKey key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                    if (firstEventAt == 0) {
+                        firstEventAt = System.currentTimeMillis();
+                    }
+                    if (System.currentTimeMillis() - firstEventAt < MAX_DEBOUNCE_FACTOR * debounceMillis) {
+                        continue;
+                    }
+                }
+                if (firstEventAt != 0 || (retryAt != 0 && System.currentTimeMillis() >= retryAt)) {
+                    firstEventAt = 0;
+                    rescan();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Stopped
+        }
+    }
+
+    private void rescan() throws InterruptedException {
+        registerDirectories();
+        Set<File> found = new HashSet<>(InboxImporter.findProjectDirectories(inboxDirectories, scanDepth));
+        List<File> added = new ArrayList<>();
+        for (File directory : found) {
+            if (!projectDirectories.contains(directory)) {
+                added.add(directory);
+            }
+        }
+        List<File> removed = new ArrayList<>();
+        projectDirectories.removeIf(directory -> {
+            if (found.contains(directory)) {
+                return false;
+            }
+            if (closeRemovedProjects) {
+                removed.add(directory.getAbsoluteFile());
+            }
+            return true;
+        });
+        if (added.isEmpty() && removed.isEmpty()) {
+            retryAt = 0;
+            return;
+        }
+        UpdateJob job = new UpdateJob(added, removed);
+        job.schedule();
+        // Events arriving meanwhile are kept by the watch service
+        job.join();
+        projectDirectories.addAll(job.imported);
+        if (job.imported.size() < added.size()) {
+            retryAt = System.currentTimeMillis() + retryFactor * debounceMillis;
+            retryFactor = Math.min(2 * retryFactor, MAX_RETRY_FACTOR);
+        } else {
+            retryAt = 0;
+            retryFactor = MAX_DEBOUNCE_FACTOR;
+        }
+    }
+
+    private static class UpdateJob extends WorkspaceJob {
+        private final List<File> added;
+        private final List<File> removed;
+        private final Set<File> imported = new HashSet<>();
+
+        UpdateJob(List<File> added, List<File> removed) {
+            super("Import models from inbox");
+            this.added = added;
+            this.removed = removed;
+            setRule(ResourcesPlugin.getWorkspace().getRoot());
+            setSystem(true);
+        }
+
+        @Override
+        public IStatus runInWorkspace(IProgressMonitor monitor) throws CoreException {
+            if (!added.isEmpty()) {
+                InboxImporter.Result result = InboxImporter.importProjects(added);
+                imported.addAll(result.getImportedDirectories());
+                String msg = "Imported " + result.getCreatedProjectNames().size() + " of " + added.size()
+                        + " projects added to the inbox directories.";
+                Main.log(IStatus.INFO, msg, null);
+            }
+            if (!removed.isEmpty()) {
+                closeProjects(monitor);
+            }
+            return Status.OK_STATUS;
+        }
+
+        private void closeProjects(IProgressMonitor monitor) {
+            IWorkspace workspace = ResourcesPlugin.getWorkspace();
+            for (IProject project : workspace.getRoot().getProjects()) {
+                IPath location = project.getLocation();
+                if (!project.isOpen() || location == null || !removed.contains(location.toFile().getAbsoluteFile())) {
+                    continue;
+                }
+                try {
+                    project.close(monitor);
+                    String msg = "Closed project '" + project.getName() + "' as its folder was removed.";
+                    Main.log(IStatus.INFO, msg, null);
+                } catch (CoreException e) {
+                    String msg = "Cannot close project '" + project.getName() + "'.";
+                    Main.log(IStatus.ERROR, msg, e);
+                }
+            }
+        }
+    }
+}
@@ -2,15 +2,14 @@
 // SPDX-License-Identifier: Apache-2.0
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
-import org.eclipse.core.resources.IProject;
-import org.eclipse.core.resources.IProjectDescription;
-import org.eclipse.core.resources.IWorkspace;
-import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.ILog;
-import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
-import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.ui.IStartup;
@@ -26,36 +25,36 @@ public class Main implements IStartup {
         log.log(status);
     }
 
-    private void importProject(File projectDir) {
-        if (!projectDir.isDirectory()) {
-            String msg = "Directory '" + projectDir.getName() + "' does not exist.";
-            log(IStatus.WARNING, msg, null);
-            return;
+    private static int getIntSetting(String name, int defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
         }
-        IWorkspace workspace = ResourcesPlugin.getWorkspace();
-        File dotProjectFile = new File(projectDir, ".project");
-        if (!dotProjectFile.exists()) {
-            String msg = "Folder '" + projectDir.getPath() + "' does not ";
-            msg += "contain .project file. The project cannot be imported.";
+        try {
+            return Math.max(0, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            String msg = name + " '" + value + "' is not a number, using " + defaultValue + ".";
             log(IStatus.WARNING, msg, null);
-            return;
+            return defaultValue;
         }
-        IPath projectLocation = new Path(dotProjectFile.getAbsolutePath());
+    }
+
+    private static boolean getBooleanSetting(String name) {
+        return Boolean.parseBoolean(System.getenv(name));
+    }
+
+    private static void startWatching(List<File> inboxDirectories, int scanDepth, Set<File> projectDirectories) {
+        int debounceMillis = Math.max(1, getIntSetting("MODEL_INBOX_WATCH_DEBOUNCE_MS", 2000));
+        boolean closeRemoved = getBooleanSetting("MODEL_INBOX_CLOSE_REMOVED");
         try {
-            IProjectDescription projectDescription = workspace
-                    .loadProjectDescription(projectLocation);
-            IProject project = workspace.getRoot().getProject(projectDescription.getName());
-            if (project.exists()) {
-                String msg = "Project '" + projectDir.getName() + "' does already exist.";
-                log(IStatus.INFO, msg, null);
-                return;
-            }
-            project.create(projectDescription, null);
-            String msg = "Imported project '" + projectDir.getName() + "'";
-            log(IStatus.INFO, msg, null);
-        } catch (Exception e) {
-            e.printStackTrace();
+            new InboxWatcher(inboxDirectories, scanDepth, debounceMillis, closeRemoved, projectDirectories).start();
+        } catch (IOException e) {
+            log(IStatus.ERROR, "Cannot watch the inbox directories.", e);
+            return;
         }
+        String msg = "Watching " + inboxDirectories.size() + " inbox directories for new projects (debounce "
+                + debounceMillis + " ms" + (closeRemoved ? ", closing removed projects)" : ")");
+        log(IStatus.INFO, msg, null);
     }
 
     @Override
@@ -78,8 +77,23 @@ public class Main implements IStartup {
         } else {
             modelDirectories = new String[] { modelInboxDirectories_string };
         }
+        List<File> inboxDirectories = new ArrayList<>();
         for (String dir : modelDirectories) {
-            importProject(new File(dir));
+            inboxDirectories.add(new File(dir));
+        }
+        long start = System.nanoTime();
+        int scanDepth = getIntSetting("MODEL_INBOX_SCAN_DEPTH", 0);
+        List<File> projectDirectories = InboxImporter.findProjectDirectories(inboxDirectories, scanDepth);
+        long discoveryMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        InboxImporter.Result result = InboxImporter.importProjects(projectDirectories);
+        long totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        String msg = "Imported " + result.getCreatedProjectNames().size() + " of " + projectDirectories.size() + " projects found in "
+                + inboxDirectories.size() + " inbox directories (depth " + scanDepth + ") in " + totalMillis
+                + " ms (discovery " + discoveryMillis + " ms)";
+        log(IStatus.INFO, msg, null);
+        if (getBooleanSetting("MODEL_INBOX_WATCH")) {
+            // Folders that could not be imported are tried again by the watcher
+            startWatching(inboxDirectories, scanDepth, result.getImportedDirectories());
         }
     }
 }
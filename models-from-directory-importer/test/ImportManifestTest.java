@@ -0,0 +1,122 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Properties;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ImportManifestTest {
+    private static final long LAST_MODIFIED = 1700000000000L;
+    private static final String DESCRIPTION = "<projectDescription><name>Model</name></projectDescription>";
+
+    @TempDir
+    File directory;
+
+    private File manifestFile;
+    private File projectDirectory;
+
+    @BeforeEach
+    void createProject() throws IOException {
+        manifestFile = new File(directory, "import-manifest.properties");
+        projectDirectory = new File(directory, "model");
+        assertTrue(projectDirectory.mkdir());
+        writeDescription(DESCRIPTION, LAST_MODIFIED);
+    }
+
+    private void writeDescription(String content, long lastModified) throws IOException {
+        File descriptionFile = new File(projectDirectory, ".project");
+        Files.write(descriptionFile.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        assertTrue(descriptionFile.setLastModified(lastModified));
+    }
+
+    private ImportManifest saveAndReload() {
+        ImportManifest manifest = ImportManifest.load(manifestFile);
+        manifest.put(projectDirectory, "Model");
+        manifest.save();
+        return ImportManifest.load(manifestFile);
+    }
+
+    private Properties readManifestFile() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(manifestFile.toPath())) {
+            properties.load(in);
+        }
+        return properties;
+    }
+
+    @Test
+    void unchangedFolderIsKnown() {
+        assertEquals("Model", saveAndReload().getUnchangedProjectName(projectDirectory));
+    }
+
+    @Test
+    void unknownFolderIsNotKnown() {
+        ImportManifest manifest = saveAndReload();
+
+        assertNull(manifest.getUnchangedProjectName(new File(directory, "other")));
+    }
+
+    @Test
+    void sameModificationTimeButChangedSizeIsChanged() throws IOException {
+        ImportManifest manifest = saveAndReload();
+        writeDescription(DESCRIPTION.replace("Model", "Renamed model"), LAST_MODIFIED);
+
+        assertNull(manifest.getUnchangedProjectName(projectDirectory));
+    }
+
+    @Test
+    void changedModificationTimeWithIdenticalContentIsUnchanged() throws IOException {
+        ImportManifest manifest = saveAndReload();
+        writeDescription(DESCRIPTION, LAST_MODIFIED + 60000);
+
+        assertEquals("Model", manifest.getUnchangedProjectName(projectDirectory));
+        // The new modification time is remembered, so the file is not hashed again
+        manifest.save();
+        String entry = readManifestFile().getProperty(projectDirectory.getAbsolutePath());
+        assertTrue(entry.startsWith((LAST_MODIFIED + 60000) + ";"), entry);
+    }
+
+    @Test
+    void changedModificationTimeAndContentOfSameSizeIsChanged() throws IOException {
+        ImportManifest manifest = saveAndReload();
+        writeDescription(DESCRIPTION.replace("Model", "Mode1"), LAST_MODIFIED + 60000);
+
+        assertNull(manifest.getUnchangedProjectName(projectDirectory));
+    }
+
+    @Test
+    void saveReplacesPreviousManifest() throws IOException {
+        Files.write(manifestFile.toPath(), "stale=entry\n".getBytes(StandardCharsets.UTF_8));
+
+        saveAndReload();
+
+        Properties properties = readManifestFile();
+        assertEquals(1, properties.size());
+        assertTrue(properties.containsKey(projectDirectory.getAbsolutePath()));
+        assertEquals(Set.of(manifestFile.getName(), "model"), Set.of(directory.list()),
+                "No temporary file is left behind");
+    }
+
+    @Test
+    void malformedEntriesAreIgnored() throws IOException {
+        Files.write(manifestFile.toPath(), ("broken=1;2\n" + "notanumber=x;y;hash;Name\n")
+                .getBytes(StandardCharsets.UTF_8));
+
+        ImportManifest manifest = ImportManifest.load(manifestFile);
+
+        assertNull(manifest.getUnchangedProjectName(new File("broken")));
+        assertNull(manifest.getUnchangedProjectName(new File("notanumber")));
+    }
+}
@@ -0,0 +1,23 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella;
+
+import org.eclipse.core.runtime.IStatus;
+
+/**
+ * Stand-in for the plug-in activator of the rest-api bundle. Benchmarked code
+ * reports problems through {@link #log(int, String, Throwable)}, which needs
+ * the OSGi platform in the bundle and prints to stderr here.
+ */
+public class Main {
+    public static void log(int severity, String message, Throwable exception) {
+        if (severity < IStatus.WARNING) {
+            return;
+        }
+        System.err.println(message);
+        if (exception != null) {
+            exception.printStackTrace();
+        }
+    }
+}
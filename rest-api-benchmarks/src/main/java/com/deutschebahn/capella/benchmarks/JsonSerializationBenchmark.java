@@ -0,0 +1,87 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.deutschebahn.capella.api.JacksonCborProvider;
+import com.deutschebahn.capella.api.JacksonJsonProvider;
+import com.deutschebahn.capella.integration.DiagramDescriptor;
+import com.deutschebahn.capella.model.Diagram;
+import com.deutschebahn.capella.model.WorkspaceProject;
+
+/**
+ * Serializes large diagram and project lists through the
+ * {@link JacksonJsonProvider} and {@link JacksonCborProvider} of the bundle.
+ * The result of each invocation is the number of bytes written, so that
+ * payload sizes can be compared as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+    @Param({ "100", "10000" })
+    public int size;
+
+    private JacksonJsonProvider provider;
+    private JacksonCborProvider cborProvider;
+    private List<Diagram> diagrams;
+    private List<WorkspaceProject> projects;
+
+    @Setup
+    public void setUp() {
+        provider = new JacksonJsonProvider();
+        cborProvider = new JacksonCborProvider();
+        StandInWorkspace workspace = StandInWorkspace.generate(size, size, 0, 42L);
+        diagrams = new ArrayList<>(size);
+        for (DiagramDescriptor descriptor : workspace.getDescriptors("project-0")) {
+            Diagram diagram = new Diagram();
+            diagram.setId(descriptor.getUid());
+            diagram.setName(descriptor.getName());
+            diagrams.add(diagram);
+        }
+        projects = new ArrayList<>(size);
+        for (StandInProject project : workspace.getProjects()) {
+            projects.add(new StandInWorkspaceProject(project, false));
+        }
+    }
+
+    @Benchmark
+    public long serializeDiagrams() throws IOException {
+        return Serialization.write(provider, diagrams);
+    }
+
+    @Benchmark
+    public long serializeWorkspaceProjects() throws IOException {
+        return Serialization.write(provider, projects);
+    }
+
+    @Benchmark
+    public long serializeDiagramsCbor() throws IOException {
+        return Serialization.write(cborProvider, Serialization.APPLICATION_CBOR_TYPE, diagrams);
+    }
+
+    @Benchmark
+    public long serializeWorkspaceProjectsCbor() throws IOException {
+        return Serialization.write(cborProvider, Serialization.APPLICATION_CBOR_TYPE, projects);
+    }
+}
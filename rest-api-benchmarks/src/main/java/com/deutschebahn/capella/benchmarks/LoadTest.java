@@ -0,0 +1,255 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.benchmarks;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import com.deutschebahn.capella.integration.AdmissionControl;
+
+/**
+ * Measures the throughput and latency of the projects API over HTTP at
+ * increasing concurrency. The {@code Application} of the bundle and its
+ * request handlers are served by a {@link StandInServer} in the same JVM, so
+ * no Capella installation, display or network is needed.
+ *
+ * For every concurrency level and operation, that many clients send requests
+ * back to back, each for a random project. Requests sent during the warm-up
+ * are not recorded. Settings are read from system properties:
+ *
+ * <ul>
+ * <li>{@code loadtest.projects}, {@code loadtest.diagrams},
+ * {@code loadtest.editors}: size of the stand-in workspace</li>
+ * <li>{@code loadtest.concurrency}: comma-separated concurrency levels</li>
+ * <li>{@code loadtest.warmup}, {@code loadtest.duration}: seconds per level
+ * and operation</li>
+ * <li>{@code loadtest.operations}: comma-separated operations to run</li>
+ * <li>{@code loadtest.limit}: page size of the listings, all entries if
+ * unset</li>
+ * <li>{@code loadtest.output}: file the results are written to as CSV</li>
+ * </ul>
+ */
+public final class LoadTest {
+    /** Latencies and outcomes of the requests of one operation at one level. */
+    private static final class Result {
+        final String operation;
+        final int concurrency;
+        final double seconds;
+        long[] latencies = new long[1024];
+        int count;
+        long errors;
+        long rejected;
+
+        Result(String operation, int concurrency, double seconds) {
+            this.operation = operation;
+            this.concurrency = concurrency;
+            this.seconds = seconds;
+        }
+
+        void record(long latencyNanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+        }
+
+        void add(Result other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i]);
+            }
+            errors += other.errors;
+            rejected += other.rejected;
+        }
+
+        double getThroughput() {
+            return count / seconds;
+        }
+
+        /**
+         * Returns the latency below which the given share of the requests
+         * completed, in milliseconds.
+         */
+        double getPercentileMillis(double share) {
+            if (count == 0) {
+                return Double.NaN;
+            }
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(share * count);
+            return sorted[Math.max(0, rank - 1)] / 1e6;
+        }
+    }
+
+    private static final String ROW_FORMAT = "%-32s %11s %10s %12s %10s %10s %8s %8s%n";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+    private static final int HTTP_SERVICE_UNAVAILABLE = 503;
+
+    private LoadTest() {
+    }
+
+    private static String getListingQuery() {
+        String limit = System.getProperty("loadtest.limit");
+        return limit == null || limit.isEmpty() ? "" : "?limit=" + Integer.parseInt(limit);
+    }
+
+    /**
+     * Returns the path of a request of each operation for the project with
+     * the given number.
+     */
+    private static Map<String, IntFunction<String>> getOperations() {
+        String query = getListingQuery();
+        Map<String, IntFunction<String>> operations = new LinkedHashMap<>();
+        operations.put("listProjects", project -> "/projects" + query);
+        operations.put("getDiagramsByProjectName", project -> "/projects/project-" + project + "/diagrams" + query);
+        operations.put("getDiagramEditorsByProjectName", project -> "/projects/project-" + project
+                + "/diagram-editors");
+        return operations;
+    }
+
+    private static int[] parseLevels(String levels) {
+        return Arrays.stream(levels.split(",")).map(String::trim).filter(level -> !level.isEmpty())
+                .mapToInt(Integer::parseInt).toArray();
+    }
+
+    private static Result runClient(HttpClient client, URI baseURI, String operation, IntFunction<String> path,
+            int projects, long measureFrom, long measureUntil) {
+        Result result = new Result(operation, 0, 0);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long start;
+        while ((start = System.nanoTime()) < measureUntil) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseURI + path.apply(random.nextInt(projects))))
+                    .header("Accept", "application/json")
+                    .header("Accept-Encoding", "gzip")
+                    .timeout(REQUEST_TIMEOUT)
+                    .GET()
+                    .build();
+            int status;
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (start < measureFrom) {
+                continue;
+            }
+            if (status == HTTP_SERVICE_UNAVAILABLE) {
+                result.rejected++;
+            } else if (status < 200 || status >= 300) {
+                result.errors++;
+            } else {
+                result.record(System.nanoTime() - start);
+            }
+        }
+        return result;
+    }
+
+    private static Result run(HttpClient client, URI baseURI, String operation, IntFunction<String> path,
+            int concurrency, int projects, long warmupNanos, long durationNanos)
+            throws InterruptedException, ExecutionException {
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        try {
+            long measureFrom = System.nanoTime() + warmupNanos;
+            long measureUntil = measureFrom + durationNanos;
+            List<Future<Result>> futures = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(clients.submit(
+                        () -> runClient(client, baseURI, operation, path, projects, measureFrom, measureUntil)));
+            }
+            Result result = new Result(operation, concurrency, durationNanos / 1e9);
+            for (Future<Result> future : futures) {
+                result.add(future.get());
+            }
+            return result;
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private static void print(PrintStream out, Result result) {
+        out.printf(Locale.ROOT, ROW_FORMAT, result.operation, result.concurrency, result.count,
+                String.format(Locale.ROOT, "%.1f", result.getThroughput()),
+                String.format(Locale.ROOT, "%.2f", result.getPercentileMillis(0.5)),
+                String.format(Locale.ROOT, "%.2f", result.getPercentileMillis(0.99)), result.errors,
+                result.rejected);
+    }
+
+    private static void writeCsv(String file, List<Result> results) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("operation,concurrency,requests,throughput,p50_ms,p99_ms,errors,rejected");
+        for (Result result : results) {
+            lines.add(String.format(Locale.ROOT, "%s,%d,%d,%.3f,%.3f,%.3f,%d,%d", result.operation,
+                    result.concurrency, result.count, result.getThroughput(), result.getPercentileMillis(0.5),
+                    result.getPercentileMillis(0.99), result.errors, result.rejected));
+        }
+        Files.write(Paths.get(file), lines, StandardCharsets.UTF_8);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int projects = Integer.getInteger("loadtest.projects", 100);
+        int diagrams = Integer.getInteger("loadtest.diagrams", 5000);
+        int editors = Integer.getInteger("loadtest.editors", 20);
+        int[] levels = parseLevels(System.getProperty("loadtest.concurrency", "1,2,4,8,16,32,64"));
+        long warmupNanos = TimeUnit.SECONDS.toNanos(Integer.getInteger("loadtest.warmup", 2));
+        long durationNanos = TimeUnit.SECONDS.toNanos(Integer.getInteger("loadtest.duration", 10));
+        Map<String, IntFunction<String>> operations = getOperations();
+        String selected = System.getProperty("loadtest.operations");
+        if (selected != null && !selected.isEmpty()) {
+            operations.keySet().retainAll(Arrays.asList(selected.split("\\s*,\\s*")));
+        }
+
+        PrintStream out = System.out;
+        out.printf("Stand-in workspace: %d projects, %d diagrams and %d editors per project%n", projects,
+                diagrams, editors);
+        List<Result> results = new ArrayList<>();
+        try (StandInServer server = StandInServer.start(StandInWorkspace.generate(projects, diagrams, editors, 42L))) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(REQUEST_TIMEOUT)
+                    .build();
+            out.println("Serving " + server.getBaseURI());
+            out.printf(Locale.ROOT, ROW_FORMAT, "Operation", "Concurrency", "Requests", "Requests/s", "p50 ms",
+                    "p99 ms", "Errors", "503");
+            for (int concurrency : levels) {
+                for (Map.Entry<String, IntFunction<String>> operation : operations.entrySet()) {
+                    Result result = run(client, server.getBaseURI(), operation.getKey(), operation.getValue(),
+                            concurrency, projects, warmupNanos, durationNanos);
+                    print(out, result);
+                    results.add(result);
+                }
+            }
+        }
+        for (AdmissionControl.Limit limit : AdmissionControl.INSTANCE.getLimits()) {
+            out.printf("Admission %s: %d admitted, %d rejected, %d coalesced%n", limit.getEndpoint().toValue(),
+                    limit.getAdmitted(), limit.getRejected(), limit.getCoalesced());
+        }
+        String output = System.getProperty("loadtest.output");
+        if (output != null && !output.isEmpty()) {
+            writeCsv(output, results);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.Path;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.deutschebahn.capella.integration.ReflectionUtils;
+import com.deutschebahn.capella.model.WorkspaceProject;
+
+/**
+ * Copies the properties of a project into the DTOs returned by
+ * {@code listProjects}. {@link #reflectiveBaseline()} repeats what
+ * {@code copyProperties} did before copy plans were cached, for comparison.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReflectionUtilsBenchmark {
+    private StandInProject project;
+
+    @Setup
+    public void setUp() {
+        project = new StandInProject("project-0", new Path("/workspace"));
+    }
+
+    @Benchmark
+    public WorkspaceProject copyIntoWorkspaceProject() {
+        WorkspaceProject target = new WorkspaceProject();
+        ReflectionUtils.copyProperties(project, target);
+        return target;
+    }
+
+    @Benchmark
+    public WorkspaceProject copyIntoPathOverloadingProject() {
+        return new StandInWorkspaceProject(project, false);
+    }
+
+    @Benchmark
+    public WorkspaceProject reflectiveBaseline() throws ReflectiveOperationException {
+        StandInWorkspaceProject target = new StandInWorkspaceProject(project, false);
+        Map<String, Method> getters = ReflectionUtils.getGetters(project.getClass());
+        Map<String, Method> setters = ReflectionUtils.getSetters(target.getClass());
+        for (Map.Entry<String, Method> getterEntry : getters.entrySet()) {
+            Method setterMethod = setters.get(getterEntry.getKey());
+            if (setterMethod != null) {
+                setterMethod.invoke(target, getterEntry.getValue().invoke(project));
+            }
+        }
+        return target;
+    }
+}
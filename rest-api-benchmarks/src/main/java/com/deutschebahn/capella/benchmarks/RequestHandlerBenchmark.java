@@ -0,0 +1,75 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.deutschebahn.capella.api.JacksonJsonProvider;
+import com.deutschebahn.capella.api.impl.ProjectsApiServiceImpl;
+import com.deutschebahn.capella.integration.WorkspaceAccess;
+
+/**
+ * Runs the request handlers of the bundle against a {@link StandInWorkspace}
+ * and writes the response entity, i.e. everything a request costs apart from
+ * HTTP and the Eclipse platform itself.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestHandlerBenchmark {
+    @Param({ "10", "500" })
+    public int projects;
+
+    @Param({ "50", "5000" })
+    public int diagramsPerProject;
+
+    @Param({ "20" })
+    public int editorsPerProject;
+
+    private JacksonJsonProvider provider;
+    private ProjectsApiServiceImpl service;
+    private String projectName;
+
+    @Setup
+    public void setUp() {
+        provider = new JacksonJsonProvider();
+        WorkspaceAccess.INSTANCE.setWorkspace(
+                StandInWorkspace.generate(projects, diagramsPerProject, editorsPerProject, 42L));
+        service = new ProjectsApiServiceImpl();
+        projectName = "project-" + (projects / 2);
+    }
+
+    @Benchmark
+    public long listProjects() throws IOException {
+        return Serialization.write(provider, service.listProjects(null, null, null, null, null).getEntity());
+    }
+
+    @Benchmark
+    public long getDiagramsByProjectName() throws IOException {
+        return Serialization.write(provider, service
+                .getDiagramsByProjectName(projectName, null, null, null, null, null).getEntity());
+    }
+
+    @Benchmark
+    public long getDiagramEditorsByProjectName() throws IOException {
+        return Serialization.write(provider, service
+                .getDiagramEditorsByProjectName(projectName, null, null).getEntity());
+    }
+}
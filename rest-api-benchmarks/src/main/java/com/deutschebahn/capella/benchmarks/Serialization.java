@@ -0,0 +1,55 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+
+import com.deutschebahn.capella.api.JacksonCborProvider;
+import com.deutschebahn.capella.api.JacksonJsonProvider;
+
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+
+/**
+ * Writes response entities the way Jersey does, through the
+ * {@link JacksonJsonProvider} or {@link JacksonCborProvider} registered by the
+ * bundle.
+ */
+final class Serialization {
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
+    private Serialization() {
+    }
+
+    /** Output stream that only counts the written bytes. */
+    static final class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    static final MediaType APPLICATION_CBOR_TYPE = MediaType.valueOf(JacksonCborProvider.APPLICATION_CBOR);
+
+    static long write(MessageBodyWriter<Object> writer, MediaType mediaType, Object entity) throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        writer.writeTo(entity, entity.getClass(), entity.getClass(), NO_ANNOTATIONS, mediaType,
+                new MultivaluedHashMap<>(), out);
+        return out.count;
+    }
+
+    static long write(JacksonJsonProvider provider, Object entity) throws IOException {
+        return write(provider, MediaType.APPLICATION_JSON_TYPE, entity);
+    }
+}
@@ -0,0 +1,86 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.benchmarks;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+
+/**
+ * In-memory stand-in for an {@code IProject}. It exposes the properties that
+ * are copied into a {@code WorkspaceProject} as well as a number of other
+ * getters, so that copy plans have to skip properties like they do for the
+ * real project class.
+ */
+public class StandInProject {
+    private final String name;
+    private final IPath fullPath;
+    private final IPath location;
+    private volatile boolean open = true;
+
+    public StandInProject(String name, IPath workspaceLocation) {
+        this.name = name;
+        this.fullPath = Path.ROOT.append(name);
+        this.location = workspaceLocation.append(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public IPath getFullPath() {
+        return fullPath;
+    }
+
+    public IPath getLocation() {
+        return location;
+    }
+
+    public boolean isOpen() {
+        return open;
+    }
+
+    public void setOpen(boolean open) {
+        this.open = open;
+    }
+
+    public int getType() {
+        return 4;
+    }
+
+    public IPath getProjectRelativePath() {
+        return Path.EMPTY;
+    }
+
+    public String getFileExtension() {
+        return null;
+    }
+
+    public long getModificationStamp() {
+        return 1L;
+    }
+
+    public long getLocalTimeStamp() {
+        return 0L;
+    }
+
+    public boolean isAccessible() {
+        return open;
+    }
+
+    public boolean isDerived() {
+        return false;
+    }
+
+    public boolean isHidden() {
+        return false;
+    }
+
+    public boolean isPhantom() {
+        return false;
+    }
+
+    public boolean isTeamPrivateMember() {
+        return false;
+    }
+}
@@ -0,0 +1,80 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.benchmarks;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+
+import org.glassfish.grizzly.http.CompressionConfig;
+import org.glassfish.grizzly.http.server.HttpServer;
+import org.glassfish.grizzly.http.server.NetworkListener;
+import org.glassfish.jersey.grizzly2.httpserver.GrizzlyHttpServerFactory;
+
+import com.deutschebahn.capella.Application;
+import com.deutschebahn.capella.ServerConfig;
+import com.deutschebahn.capella.api.JacksonCborProvider;
+import com.deutschebahn.capella.integration.WorkspaceAccess;
+
+import jakarta.ws.rs.core.MediaType;
+
+/**
+ * Serves the {@link Application} of the rest-api bundle on Grizzly, with its
+ * request handlers working on a {@link StandInWorkspace}. The server listens
+ * on a free port of the loopback interface only.
+ */
+public final class StandInServer implements AutoCloseable {
+    private static final String HOST = "127.0.0.1";
+    private static final String BASE_PATH = "/api/v1";
+
+    private final HttpServer server;
+    private final URI baseURI;
+
+    private StandInServer(HttpServer server, URI baseURI) {
+        this.server = server;
+        this.baseURI = baseURI;
+    }
+
+    private static int findFreePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getByName(HOST))) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * Compresses responses like the bundle does, see
+     * {@code capella.api.compression}.
+     */
+    private static void configureCompression(HttpServer server) {
+        if (!ServerConfig.getBoolean("compression", true)) {
+            return;
+        }
+        for (NetworkListener listener : server.getListeners()) {
+            CompressionConfig compressionConfig = listener.getCompressionConfig();
+            compressionConfig.setCompressionMode(CompressionConfig.CompressionMode.ON);
+            compressionConfig.setCompressionMinSize(ServerConfig.getInt("compression.min-size", 1024));
+            compressionConfig.setCompressibleMimeTypes(MediaType.APPLICATION_JSON,
+                    JacksonCborProvider.APPLICATION_CBOR, MediaType.TEXT_PLAIN);
+        }
+    }
+
+    public static StandInServer start(StandInWorkspace workspace) throws IOException {
+        WorkspaceAccess.INSTANCE.setWorkspace(workspace);
+        URI baseURI = URI.create("http://" + HOST + ":" + findFreePort() + BASE_PATH);
+        HttpServer server = GrizzlyHttpServerFactory.createHttpServer(baseURI, new Application(), false);
+        configureCompression(server);
+        server.start();
+        return new StandInServer(server, baseURI);
+    }
+
+    public URI getBaseURI() {
+        return baseURI;
+    }
+
+    @Override
+    public void close() {
+        server.shutdownNow();
+    }
+}
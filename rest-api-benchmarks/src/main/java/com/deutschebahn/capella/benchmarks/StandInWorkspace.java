@@ -0,0 +1,127 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+
+import com.deutschebahn.capella.integration.DiagramDescriptor;
+
+/**
+ * Synthetic in-memory workspace with projects, representation descriptors
+ * and open diagram editors. The content is derived from a seed, so that runs
+ * with the same parameters work on identical data.
+ *
+ * Projects can be opened, closed and deleted while requests are served;
+ * every such change is counted, like the events of the change feed of the
+ * bundle.
+ */
+public class StandInWorkspace {
+    /** Stand-in for an open Sirius editor of a representation. */
+    public static class Editor {
+        public final DiagramDescriptor descriptor;
+        public final String uri;
+
+        Editor(DiagramDescriptor descriptor, String uri) {
+            this.descriptor = descriptor;
+            this.uri = uri;
+        }
+    }
+
+    private static final String[] DIAGRAM_KINDS = { "[LAB] ", "[PAB] ", "[SAB] ", "[CDB] ", "[ES] ", "[MCB] " };
+
+    private final Map<String, StandInProject> projects = new ConcurrentSkipListMap<>();
+    private final Map<String, List<DiagramDescriptor>> descriptors = new ConcurrentHashMap<>();
+    private final Map<String, List<Editor>> editors = new ConcurrentHashMap<>();
+    private final Set<String> dirtyProjectNames = ConcurrentHashMap.newKeySet();
+    private final AtomicLong changes = new AtomicLong();
+
+    public static StandInWorkspace generate(int projectCount, int diagramsPerProject, int editorsPerProject,
+            long seed) {
+        StandInWorkspace workspace = new StandInWorkspace();
+        Random random = new Random(seed);
+        IPath workspaceLocation = new Path("/workspace");
+        for (int p = 0; p < projectCount; p++) {
+            String projectName = "project-" + p;
+            workspace.projects.put(projectName, new StandInProject(projectName, workspaceLocation));
+            List<DiagramDescriptor> projectDescriptors = new ArrayList<>(diagramsPerProject);
+            for (int d = 0; d < diagramsPerProject; d++) {
+                String uid = "_" + new UUID(random.nextLong(), random.nextLong());
+                String name = DIAGRAM_KINDS[random.nextInt(DIAGRAM_KINDS.length)] + "Diagram " + d;
+                projectDescriptors.add(new DiagramDescriptor(uid, name));
+            }
+            workspace.descriptors.put(projectName, Collections.unmodifiableList(projectDescriptors));
+            List<Editor> projectEditors = new ArrayList<>();
+            for (int e = 0; e < Math.min(editorsPerProject, diagramsPerProject); e++) {
+                DiagramDescriptor descriptor = projectDescriptors.get(e);
+                String uri = "platform:/resource/" + projectName + "/" + projectName + ".aird#"
+                        + descriptor.getUid();
+                projectEditors.add(new Editor(descriptor, uri));
+            }
+            workspace.editors.put(projectName, Collections.unmodifiableList(projectEditors));
+            if (!projectEditors.isEmpty() && random.nextInt(4) == 0) {
+                workspace.dirtyProjectNames.add(projectName);
+            }
+        }
+        return workspace;
+    }
+
+    /**
+     * Returns the projects, ordered by name.
+     */
+    public List<StandInProject> getProjects() {
+        return new ArrayList<>(projects.values());
+    }
+
+    public StandInProject getProject(String name) {
+        return projects.get(name);
+    }
+
+    public List<DiagramDescriptor> getDescriptors(String projectName) {
+        return descriptors.getOrDefault(projectName, Collections.emptyList());
+    }
+
+    public List<Editor> getEditors(String projectName) {
+        return editors.getOrDefault(projectName, Collections.emptyList());
+    }
+
+    public Set<String> getDirtyProjectNames() {
+        return Set.copyOf(dirtyProjectNames);
+    }
+
+    public void setOpen(String projectName, boolean open) {
+        StandInProject project = projects.get(projectName);
+        if (project != null && project.isOpen() != open) {
+            project.setOpen(open);
+            changes.incrementAndGet();
+        }
+    }
+
+    public void delete(String projectName) {
+        if (projects.remove(projectName) != null) {
+            descriptors.remove(projectName);
+            editors.remove(projectName);
+            dirtyProjectNames.remove(projectName);
+            changes.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the number of changes of the workspace since it was generated.
+     */
+    public long getChanges() {
+        return changes.get();
+    }
+}
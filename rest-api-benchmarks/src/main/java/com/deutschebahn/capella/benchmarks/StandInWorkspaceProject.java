@@ -0,0 +1,39 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.benchmarks;
+
+import org.eclipse.core.runtime.IPath;
+
+import com.deutschebahn.capella.integration.ReflectionUtils;
+import com.deutschebahn.capella.model.WorkspaceProject;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Counterpart of {@code WorkspaceProjectInt} with the same {@link IPath}
+ * setter overloads, without the workbench dependencies.
+ */
+@JsonInclude(JsonInclude.Include.ALWAYS)
+public class StandInWorkspaceProject extends WorkspaceProject {
+    public StandInWorkspaceProject(StandInProject obj, boolean modified) {
+        super();
+        ReflectionUtils.copyProperties(obj, this);
+        this.setModified(modified);
+    }
+
+    public void setFullPath(IPath fullPath) {
+        if (fullPath == null) {
+            this.setFullPath("");
+        } else {
+            this.setFullPath(fullPath.toString());
+        }
+    }
+
+    public void setLocation(IPath location) {
+        if (location == null) {
+            this.setLocation("");
+        } else {
+            this.setLocation(location.toString());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.integration;
+
+/**
+ * Stand-in for the dispatcher of the rest-api bundle, which runs work on the
+ * SWT UI thread. The stand-in workspace needs no UI thread, so work is run
+ * directly on the calling thread.
+ */
+public class UiDispatcher {
+    public static final UiDispatcher INSTANCE = new UiDispatcher();
+
+    @FunctionalInterface
+    public interface UiCallable<T> {
+        T call() throws Exception;
+    }
+
+    public static class DeadlineExceededException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public DeadlineExceededException(String message) {
+            super(message);
+        }
+    }
+
+    private UiDispatcher() {
+    }
+
+    public <T> T call(UiCallable<T> callable) throws Exception {
+        return callable.call();
+    }
+
+    public <T> T call(UiCallable<T> callable, long timeoutMillis) throws Exception {
+        return callable.call();
+    }
+}
@@ -0,0 +1,189 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.integration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.runtime.Path;
+
+import com.deutschebahn.capella.api.ApiException;
+import com.deutschebahn.capella.benchmarks.StandInProject;
+import com.deutschebahn.capella.benchmarks.StandInWorkspace;
+import com.deutschebahn.capella.benchmarks.StandInWorkspaceProject;
+import com.deutschebahn.capella.model.DiagramEditor;
+import com.deutschebahn.capella.model.ImportProjectResult;
+import com.deutschebahn.capella.model.ModelElementPage;
+import com.deutschebahn.capella.model.ProjectOperation;
+import com.deutschebahn.capella.model.ProjectOperationResult;
+import com.deutschebahn.capella.model.WorkspaceProject;
+
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Stand-in for the access of the projects API of the rest-api bundle to the
+ * Eclipse workspace, backed by the {@link StandInWorkspace} given to
+ * {@link #setWorkspace(StandInWorkspace)}. The request handlers of the
+ * bundle run unchanged on top of it.
+ *
+ * The sessions of open projects count as open, so diagrams are always listed
+ * from the session. Images and element queries need a Sirius session and are
+ * answered with {@code 501 Not Implemented}; imports and project operations
+ * fail.
+ */
+public class WorkspaceAccess {
+    public static final WorkspaceAccess INSTANCE = new WorkspaceAccess();
+
+    private static final String NOT_SERVED = "Not served by the stand-in workspace";
+
+    private volatile StandInWorkspace workspace = new StandInWorkspace();
+
+    private WorkspaceAccess() {
+    }
+
+    /**
+     * Sets the workspace requests are served from. The request handlers are
+     * created by the generated factories, so it cannot be passed to them.
+     */
+    public void setWorkspace(StandInWorkspace workspace) {
+        this.workspace = workspace;
+    }
+
+    private StandInProject getProject(String projectName) throws ApiException {
+        StandInProject project = workspace.getProject(projectName);
+        if (project == null) {
+            throw new ApiException(Response.Status.NOT_FOUND.getStatusCode(),
+                    "Project named '" + projectName + "' not found");
+        }
+        return project;
+    }
+
+    public void openProject(String projectName) throws ApiException {
+        workspace.setOpen(getProject(projectName).getName(), true);
+    }
+
+    public void closeProject(String projectName) throws ApiException {
+        workspace.setOpen(getProject(projectName).getName(), false);
+    }
+
+    public void deleteProject(String projectName, boolean deleteContents) throws ApiException {
+        workspace.delete(getProject(projectName).getName());
+    }
+
+    public long getProjectsVersion() {
+        return workspace.getChanges();
+    }
+
+    public List<String> getProjectNames() {
+        List<String> projectNames = new ArrayList<>();
+        for (StandInProject project : workspace.getProjects()) {
+            projectNames.add(project.getName());
+        }
+        projectNames.sort(null);
+        return projectNames;
+    }
+
+    public Set<String> getDirtyProjectNames() {
+        return workspace.getDirtyProjectNames();
+    }
+
+    public WorkspaceProject toWorkspaceProject(String projectName, Set<String> dirtyProjectNames) {
+        StandInProject project = workspace.getProject(projectName);
+        if (project == null) {
+            // Deleted since it was listed, like a handle of a deleted project
+            project = new StandInProject(projectName, new Path("/workspace"));
+            project.setOpen(false);
+        }
+        return new StandInWorkspaceProject(project, dirtyProjectNames.contains(projectName));
+    }
+
+    public WorkspaceProject toWorkspaceProject(String projectName) {
+        return toWorkspaceProject(projectName, workspace.getDirtyProjectNames());
+    }
+
+    public long getEditorsVersion(String projectName) {
+        return workspace.getChanges();
+    }
+
+    public List<DiagramEditor> getDiagramEditors(String projectName) {
+        List<DiagramEditor> diagramEditors = new ArrayList<>();
+        for (StandInWorkspace.Editor editor : workspace.getEditors(projectName)) {
+            DiagramEditor diagramEditor = new DiagramEditor();
+            diagramEditor.setName(editor.descriptor.getName());
+            diagramEditor.setUri(editor.uri);
+            diagramEditor.setId(editor.uri.split("#")[1]);
+            diagramEditors.add(diagramEditor);
+        }
+        return diagramEditors;
+    }
+
+    public DiagramListing getOpenSessionDiagrams(String projectName) throws ApiException {
+        StandInProject project = getProject(projectName);
+        if (!project.isOpen()) {
+            return null;
+        }
+        StandInWorkspace standInWorkspace = workspace;
+        return new DiagramListing(String.valueOf(standInWorkspace.getChanges()),
+                () -> standInWorkspace.getDescriptors(projectName));
+    }
+
+    public DiagramListing getFileDiagrams(String projectName) throws ApiException {
+        getProject(projectName);
+        return null;
+    }
+
+    public DiagramListing getSessionDiagrams(String projectName) throws ApiException {
+        DiagramListing listing = getOpenSessionDiagrams(projectName);
+        if (listing == null) {
+            throw new ApiException(Response.Status.NOT_FOUND.getStatusCode(), "Cannot get session for project");
+        }
+        return listing;
+    }
+
+    public DiagramImage getDiagramImage(String projectName, String diagramId, String format) throws ApiException {
+        throw new ApiException(Response.Status.NOT_IMPLEMENTED.getStatusCode(), NOT_SERVED);
+    }
+
+    public ModelElementPage queryElements(String projectName, String id, String metaclass, String name, int offset,
+            int limit) throws ApiException, InterruptedException {
+        throw new ApiException(Response.Status.NOT_IMPLEMENTED.getStatusCode(), NOT_SERVED);
+    }
+
+    public List<ImportProjectResult> importProjects(List<String> locations) {
+        List<ImportProjectResult> results = new ArrayList<>(locations.size());
+        for (String location : locations) {
+            ImportProjectResult result = new ImportProjectResult();
+            result.setLocation(location);
+            result.setStatus("failed");
+            result.setMessage(NOT_SERVED);
+            results.add(result);
+        }
+        return results;
+    }
+
+    public List<ProjectOperationResult> runProjectOperations(List<ProjectOperation> operations,
+            boolean stopOnError) {
+        List<ProjectOperationResult> results = new ArrayList<>(operations.size());
+        for (ProjectOperation operation : operations) {
+            ProjectOperationResult result = new ProjectOperationResult();
+            result.setProject(operation.getProject());
+            result.setOperation(operation.getOperation());
+            result.setStatus(results.isEmpty() || !stopOnError ? "failed" : "skipped");
+            result.setMessage(NOT_SERVED);
+            result.setDurationMs(0L);
+            results.add(result);
+        }
+        return results;
+    }
+
+    /**
+     * Submits a job that saves nothing, since stand-in projects have no
+     * editors to save.
+     */
+    public AsyncJob save(String projectName) throws ApiException {
+        return JobManager.INSTANCE.submit("save", getProject(projectName).getName(), () -> {
+        });
+    }
+}
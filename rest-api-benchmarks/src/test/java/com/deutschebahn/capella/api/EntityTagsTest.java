@@ -0,0 +1,90 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+
+class EntityTagsTest {
+    private static final EntityTag TAG = EntityTags.of("abc");
+
+    @Test
+    void tagsAreWeak() {
+        assertTrue(EntityTags.create(1L).isWeak());
+        assertTrue(TAG.isWeak());
+        assertEquals("abc", TAG.getValue());
+    }
+
+    @Test
+    void tagsChangeWithVersions() {
+        assertEquals(EntityTags.create(1L, "a"), EntityTags.create(1L, "a"));
+        assertNotEquals(EntityTags.create(1L, "a"), EntityTags.create(2L, "a"));
+    }
+
+    @Test
+    void missingHeaderDoesNotMatch() {
+        assertFalse(EntityTags.matches(null, TAG));
+        assertFalse(EntityTags.matches("", TAG));
+    }
+
+    @Test
+    void wildcardMatches() {
+        assertTrue(EntityTags.matches("*", TAG));
+        assertTrue(EntityTags.matches(" * ", TAG));
+    }
+
+    @Test
+    void weakComparisonIgnoresWeakness() {
+        assertTrue(EntityTags.matches("W/\"abc\"", TAG));
+        assertTrue(EntityTags.matches("\"abc\"", TAG));
+        assertTrue(EntityTags.matches("W/\"abc\"", new EntityTag("abc")));
+    }
+
+    @Test
+    void anyTagOfListMatches() {
+        assertTrue(EntityTags.matches("\"x\", W/\"abc\"", TAG));
+        assertTrue(EntityTags.matches("W/\"x\",\"abc\",\"y\"", TAG));
+        assertFalse(EntityTags.matches("\"x\", W/\"y\"", TAG));
+    }
+
+    @Test
+    void otherValuesDoNotMatch() {
+        assertFalse(EntityTags.matches("\"abcd\"", TAG));
+        assertFalse(EntityTags.matches("abc", TAG));
+        assertFalse(EntityTags.matches("W/abc", TAG));
+    }
+
+    @Test
+    void matchingTagIsNotModified() {
+        Response response = EntityTags.notModified("W/\"abc\"", TAG);
+
+        assertEquals(Response.Status.NOT_MODIFIED.getStatusCode(), response.getStatus());
+        assertEquals(TAG, response.getEntityTag());
+        assertEquals("Accept, Accept-Encoding", response.getHeaderString(HttpHeaders.VARY));
+    }
+
+    @Test
+    void otherTagIsModified() {
+        assertNull(EntityTags.notModified("W/\"x\"", TAG));
+        assertNull(EntityTags.notModified(null, TAG));
+    }
+
+    @Test
+    void taggedResponseVariesByRepresentation() {
+        Response response = EntityTags.tagged(Response.ok("entity"), TAG);
+
+        assertEquals(TAG, response.getEntityTag());
+        assertEquals("Accept, Accept-Encoding", response.getHeaderString(HttpHeaders.VARY));
+        assertTrue(response.getHeaderString(HttpHeaders.CACHE_CONTROL).contains("no-cache"));
+    }
+}
@@ -0,0 +1,136 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import com.deutschebahn.capella.model.Diagram;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class StreamedListTest {
+    private static final List<String> ELEMENTS = List.of("a", "b", "c", "d", "e");
+    private static final Function<String, String> KEY = Function.identity();
+    private static final ObjectMapper MAPPER = JacksonJsonProvider.createObjectMapper(new JsonFactory());
+
+    private static String encode(String cursor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> without(String removed) {
+        List<String> elements = new ArrayList<>(ELEMENTS);
+        elements.remove(removed);
+        return elements;
+    }
+
+    private static Diagram diagram(String id, String name) {
+        Diagram diagram = new Diagram();
+        diagram.setId(id);
+        diagram.setName(name);
+        return diagram;
+    }
+
+    @Test
+    void noCursorStartsAtFirstElement() {
+        assertEquals(0, StreamedList.getStartIndex(ELEMENTS, null, KEY));
+        assertEquals(0, StreamedList.getStartIndex(ELEMENTS, "", KEY));
+    }
+
+    @Test
+    void cursorContinuesAfterLastElementOfPage() {
+        String cursor = StreamedList.getCursor(ELEMENTS, 3, KEY);
+
+        assertEquals(3, StreamedList.getStartIndex(ELEMENTS, cursor, KEY));
+    }
+
+    @Test
+    void cursorFollowsMovedElement() {
+        String cursor = StreamedList.getCursor(ELEMENTS, 3, KEY);
+
+        assertEquals(2, StreamedList.getStartIndex(without("a"), cursor, KEY));
+        List<String> inserted = new ArrayList<>(ELEMENTS);
+        inserted.add(0, "0");
+        assertEquals(4, StreamedList.getStartIndex(inserted, cursor, KEY));
+    }
+
+    @Test
+    void cursorOfRemovedElementContinuesAtItsPosition() {
+        String cursor = StreamedList.getCursor(ELEMENTS, 3, KEY);
+
+        assertEquals(2, StreamedList.getStartIndex(without("c"), cursor, KEY));
+    }
+
+    @Test
+    void cursorPastTheEndGivesEmptyPage() {
+        assertEquals(ELEMENTS.size(), StreamedList.getStartIndex(ELEMENTS, encode("1000:unknown"), KEY));
+        assertEquals(ELEMENTS.size(), StreamedList.getStartIndex(ELEMENTS, encode("5:e"), KEY));
+        List<String> shrunk = ELEMENTS.subList(0, 2);
+        assertEquals(shrunk.size(), StreamedList.getStartIndex(shrunk, StreamedList.getCursor(ELEMENTS, 4, KEY), KEY));
+    }
+
+    @Test
+    void tamperedCursorStaysWithinElements() {
+        assertEquals(0, StreamedList.getStartIndex(ELEMENTS, encode("-7:unknown"), KEY));
+        assertEquals(0, StreamedList.getStartIndex(ELEMENTS, encode("0:unknown"), KEY));
+        // A wrong position is corrected by the key
+        assertEquals(2, StreamedList.getStartIndex(ELEMENTS, encode("4:b"), KEY));
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        for (String cursor : new String[] { "not base64!", encode("no separator"), encode("x:a"),
+                encode("99999999999:a"), encode(":a") }) {
+            assertThrows(IllegalArgumentException.class, () -> StreamedList.getStartIndex(ELEMENTS, cursor, KEY),
+                    cursor);
+        }
+    }
+
+    @Test
+    void parseFieldsIgnoresBlankNames() {
+        assertNull(StreamedList.parseFields(null));
+        assertNull(StreamedList.parseFields(" "));
+        assertNull(StreamedList.parseFields(" , "));
+        assertEquals(List.of("id", "name"), new ArrayList<>(StreamedList.parseFields(" id, ,name ")));
+    }
+
+    @Test
+    void writesAllPropertiesWithoutFields() throws Exception {
+        StreamedList list = new StreamedList(List.of(diagram("1", "A"), diagram("2", "B")), null);
+
+        assertEquals("[{\"id\":\"1\",\"name\":\"A\"},{\"id\":\"2\",\"name\":\"B\"}]", MAPPER.writeValueAsString(list));
+    }
+
+    @Test
+    void writesOnlyGivenFields() throws Exception {
+        StreamedList list = new StreamedList(List.of(diagram("1", "A"), diagram("2", "B")),
+                StreamedList.parseFields("id,unknown"));
+
+        assertEquals("[{\"id\":\"1\"},{\"id\":\"2\"}]", MAPPER.writeValueAsString(list));
+    }
+
+    @Test
+    void createsElementsAgainForEachWrite() throws Exception {
+        List<String> created = new ArrayList<>();
+        StreamedList list = new StreamedList(() -> ELEMENTS.stream().<Object>map(element -> {
+            created.add(element);
+            return diagram(element, "Diagram " + element);
+        }).iterator(), Set.of("name"));
+
+        String first = MAPPER.writeValueAsString(list);
+
+        assertEquals(first, MAPPER.writeValueAsString(list));
+        assertEquals(2 * ELEMENTS.size(), created.size());
+    }
+}
@@ -0,0 +1,154 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The lock timeout is set to 200 ms by the build. The projects {@code a} and
+ * {@code b} are in different stripes.
+ */
+class ProjectLocksTest {
+    private static final ProjectLocks LOCKS = ProjectLocks.INSTANCE;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void shutDown() throws InterruptedException {
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Holds the lock on another thread until the test ends.
+     */
+    private void holdElsewhere(Supplier<ProjectLocks.Held> acquire) throws InterruptedException {
+        CountDownLatch acquired = new CountDownLatch(1);
+        executor.execute(() -> {
+            ProjectLocks.Held lock = acquire.get();
+            try {
+                acquired.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.close();
+            }
+        });
+        assertTrue(acquired.await(10, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Whether another thread could lock the project right away, checked on
+     * another thread as the locks are reentrant.
+     */
+    private boolean isFreeElsewhere(String projectName) throws Exception {
+        return executor.submit(() -> {
+            ProjectLocks.Held lock = LOCKS.tryWrite(projectName, 0);
+            if (lock == null) {
+                return false;
+            }
+            lock.close();
+            return true;
+        }).get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void readLocksAreShared() throws Exception {
+        holdElsewhere(() -> LOCKS.read("a"));
+
+        LOCKS.read("a").close();
+    }
+
+    @Test
+    void writeLockTimesOutWhileProjectIsRead() throws Exception {
+        holdElsewhere(() -> LOCKS.read("a"));
+        long timeouts = LOCKS.getTimeouts();
+
+        long start = System.nanoTime();
+        assertThrows(ProjectLocks.LockTimeoutException.class, () -> LOCKS.write("a"));
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200));
+        assertTrue(LOCKS.getTimeouts() > timeouts);
+    }
+
+    @Test
+    void readLockTimesOutWhileProjectIsWritten() throws Exception {
+        holdElsewhere(() -> LOCKS.write("a"));
+
+        assertThrows(ProjectLocks.LockTimeoutException.class, () -> LOCKS.read("a"));
+        assertThrows(ProjectLocks.LockTimeoutException.class, () -> LOCKS.read(List.of("b", "a")));
+        assertNull(LOCKS.tryWrite("a", 0));
+    }
+
+    @Test
+    void otherProjectsAreNotBlocked() throws Exception {
+        holdElsewhere(() -> LOCKS.write("a"));
+
+        LOCKS.write("b").close();
+    }
+
+    @Test
+    void locksAreReleasedWhenClosed() throws Exception {
+        ProjectLocks.Held lock = LOCKS.write(List.of("a", "b"));
+        assertFalse(isFreeElsewhere("a"));
+        assertFalse(isFreeElsewhere("b"));
+
+        lock.close();
+
+        assertTrue(isFreeElsewhere("a"));
+        assertTrue(isFreeElsewhere("b"));
+    }
+
+    @Test
+    void locksTakenBeforeTimeoutAreReleased() throws Exception {
+        holdElsewhere(() -> LOCKS.write("b"));
+
+        assertThrows(ProjectLocks.LockTimeoutException.class, () -> LOCKS.write(List.of("a", "b")));
+
+        assertTrue(isFreeElsewhere("a"), "Lock of 'a' is still held");
+    }
+
+    @Test
+    void projectsLockedInOppositeOrderDoNotDeadlock() throws Exception {
+        long timeouts = LOCKS.getTimeouts();
+        List<List<String>> orders = List.of(List.of("a", "b"), List.of("b", "a"));
+        CountDownLatch start = new CountDownLatch(1);
+        Future<?>[] workers = new Future<?>[4];
+        for (int i = 0; i < workers.length; i++) {
+            List<String> projectNames = orders.get(i % orders.size());
+            workers[i] = executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < 1000; j++) {
+                    LOCKS.write(projectNames).close();
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+
+        for (Future<?> worker : workers) {
+            worker.get(30, TimeUnit.SECONDS);
+        }
+        assertEquals(timeouts, LOCKS.getTimeouts(), "No request timed out");
+    }
+}
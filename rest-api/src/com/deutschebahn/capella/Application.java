@@ -5,12 +5,32 @@ package com.deutschebahn.capella;
 
 import org.glassfish.jersey.server.ResourceConfig;
 
+import com.deutschebahn.capella.api.AdmissionRejectedExceptionMapper;
+import com.deutschebahn.capella.api.DeadlineExceededExceptionMapper;
+import com.deutschebahn.capella.api.EventsApi;
+import com.deutschebahn.capella.api.JacksonCborProvider;
 import com.deutschebahn.capella.api.JacksonJsonProvider;
+import com.deutschebahn.capella.api.JobsApi;
+import com.deutschebahn.capella.api.LockTimeoutExceptionMapper;
+import com.deutschebahn.capella.api.MetricsApi;
+import com.deutschebahn.capella.api.PrettyPrintFilter;
 import com.deutschebahn.capella.api.ProjectsApi;
+import com.deutschebahn.capella.api.StatusApi;
+import com.deutschebahn.capella.metrics.MetricsFilter;
 
 public class Application extends ResourceConfig {
     public Application() {
         register(ProjectsApi.class);
+        register(EventsApi.class);
+        register(JobsApi.class);
+        register(MetricsApi.class);
+        register(StatusApi.class);
         register(JacksonJsonProvider.class);
+        register(JacksonCborProvider.class);
+        register(PrettyPrintFilter.class);
+        register(DeadlineExceededExceptionMapper.class);
+        register(LockTimeoutExceptionMapper.class);
+        register(AdmissionRejectedExceptionMapper.class);
+        register(MetricsFilter.class);
     }
 }
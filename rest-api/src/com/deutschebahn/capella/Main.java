@@ -4,18 +4,33 @@
 package com.deutschebahn.capella;
 
 import java.net.URI;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.ILog;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.ui.IStartup;
+import org.glassfish.grizzly.http.CompressionConfig;
+import org.glassfish.grizzly.http.KeepAlive;
 import org.glassfish.grizzly.http.server.HttpServer;
+import org.glassfish.grizzly.http.server.NetworkListener;
+import org.glassfish.grizzly.nio.transport.TCPNIOTransport;
+import org.glassfish.grizzly.threadpool.ThreadPoolConfig;
 import org.glassfish.jersey.grizzly2.httpserver.GrizzlyHttpServerFactory;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.FrameworkUtil;
 
+import com.deutschebahn.capella.api.JacksonCborProvider;
+import com.deutschebahn.capella.integration.ChangeFeed;
+import com.deutschebahn.capella.integration.EditorIndex;
+import com.deutschebahn.capella.integration.SessionLifecycle;
+
+import jakarta.ws.rs.core.MediaType;
+
 public class Main implements IStartup {
     public static final String BASE_URI = "http://0.0.0.0:5007/api/v1";
 
@@ -27,19 +42,113 @@ public class Main implements IStartup {
         log.log(status);
     }
 
+    public static URI getBaseURI() {
+        URI defaultURI = URI.create(BASE_URI);
+        String host = ServerConfig.getString("host", defaultURI.getHost());
+        int port = ServerConfig.getInt("port", defaultURI.getPort());
+        return URI.create("http://" + host + ":" + port + defaultURI.getPath());
+    }
+
+    /**
+     * Creates an executor that runs each request on a new virtual thread, or
+     * returns {@code null} if the Java runtime does not support virtual
+     * threads (the bundle targets Java 17).
+     */
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static String configureTransport(HttpServer server) {
+        StringBuilder description = new StringBuilder();
+        for (NetworkListener listener : server.getListeners()) {
+            TCPNIOTransport transport = listener.getTransport();
+            int selectorRunners = ServerConfig.getInt("selector-runners", -1);
+            if (selectorRunners > 0) {
+                transport.setSelectorRunnersCount(selectorRunners);
+            }
+            String workers = null;
+            if (ServerConfig.getBoolean("workers.virtual-threads", false)) {
+                ExecutorService executor = createVirtualThreadExecutor();
+                if (executor != null) {
+                    transport.setWorkerThreadPool(executor);
+                    workers = "virtual threads";
+                } else {
+                    log(IStatus.WARNING, "Virtual threads are not supported by the Java runtime "
+                            + Runtime.version() + ", using a thread pool instead.", null);
+                }
+            }
+            if (workers == null) {
+                ThreadPoolConfig workerConfig = transport.getWorkerThreadPoolConfig();
+                int maxWorkers = ServerConfig.getInt("workers.max", workerConfig.getMaxPoolSize());
+                int coreWorkers = ServerConfig.getInt("workers.core", Math.min(workerConfig.getCorePoolSize(),
+                        maxWorkers));
+                workerConfig.setPoolName("capella-rest-api-worker")
+                        .setMaxPoolSize(maxWorkers)
+                        .setCorePoolSize(coreWorkers)
+                        .setQueueLimit(ServerConfig.getInt("workers.queue-limit", workerConfig.getQueueLimit()))
+                        .setKeepAliveTime(ServerConfig.getInt("workers.keep-alive", 60), TimeUnit.SECONDS);
+                workers = workerConfig.getCorePoolSize() + "-" + workerConfig.getMaxPoolSize()
+                        + " threads, queue limit " + workerConfig.getQueueLimit();
+            }
+            int readTimeout = ServerConfig.getInt("read-timeout", -1);
+            if (readTimeout >= 0) {
+                transport.setReadTimeout(readTimeout, TimeUnit.SECONDS);
+            }
+            int writeTimeout = ServerConfig.getInt("write-timeout", -1);
+            if (writeTimeout >= 0) {
+                transport.setWriteTimeout(writeTimeout, TimeUnit.SECONDS);
+            }
+            KeepAlive keepAlive = listener.getKeepAlive();
+            keepAlive.setIdleTimeoutInSeconds(ServerConfig.getInt("keep-alive.idle-timeout",
+                    keepAlive.getIdleTimeoutInSeconds()));
+            keepAlive.setMaxRequestsCount(ServerConfig.getInt("keep-alive.max-requests",
+                    keepAlive.getMaxRequestsCount()));
+            description.append("workers: ").append(workers)
+                    .append(", selector runners: ").append(transport.getSelectorRunnersCount())
+                    .append(", keep-alive idle timeout: ").append(keepAlive.getIdleTimeoutInSeconds()).append(" s")
+                    .append(", keep-alive max requests: ").append(keepAlive.getMaxRequestsCount())
+                    .append(", read timeout: ").append(transport.getReadTimeout(TimeUnit.SECONDS)).append(" s")
+                    .append(", write timeout: ").append(transport.getWriteTimeout(TimeUnit.SECONDS)).append(" s");
+        }
+        return description.toString();
+    }
+
+    private static void configureCompression(HttpServer server) {
+        if (!ServerConfig.getBoolean("compression", true)) {
+            return;
+        }
+        for (NetworkListener listener : server.getListeners()) {
+            CompressionConfig compressionConfig = listener.getCompressionConfig();
+            compressionConfig.setCompressionMode(CompressionConfig.CompressionMode.ON);
+            compressionConfig.setCompressionMinSize(ServerConfig.getInt("compression.min-size", 1024));
+            compressionConfig.setCompressibleMimeTypes(MediaType.APPLICATION_JSON,
+                    JacksonCborProvider.APPLICATION_CBOR, MediaType.TEXT_PLAIN, MediaType.APPLICATION_SVG_XML);
+        }
+    }
+
     @Override
     public void earlyStartup() {
+        ChangeFeed.INSTANCE.install();
+        EditorIndex.INSTANCE.install();
+        SessionLifecycle.INSTANCE.install();
         final ResourceConfig resourceConfig = new Application();
+        final URI baseURI = getBaseURI();
         try {
             final HttpServer server = GrizzlyHttpServerFactory.createHttpServer(
-                    URI.create(BASE_URI),
-                    resourceConfig, true);
-            log(IStatus.INFO, "Capella REST API server listens on " + BASE_URI + " ...", null);
+                    baseURI,
+                    resourceConfig, false);
+            String transportDescription = configureTransport(server);
+            configureCompression(server);
+            server.start();
+            log(IStatus.INFO, "Capella REST API server listens on " + baseURI + " ... ("
+                    + transportDescription + ")", null);
         } catch (Exception e) {
             String msg = "There was an error while starting Capella REST API server.";
-            log(IStatus.ERROR, msg, null);
-            System.err.println(msg);
-            e.printStackTrace();
+            log(IStatus.ERROR, msg, e);
         }
     }
 }
@@ -0,0 +1,60 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella;
+
+import java.util.Locale;
+
+import org.eclipse.core.runtime.IStatus;
+
+/**
+ * Settings of the REST API server.
+ *
+ * A setting named {@code compression.min-size} is read from the system
+ * property {@code capella.api.compression.min-size} or, if that is not set,
+ * from the environment variable {@code CAPELLA_API_COMPRESSION_MIN_SIZE}.
+ */
+public final class ServerConfig {
+    private static final String PROPERTY_PREFIX = "capella.api.";
+
+    private ServerConfig() {
+    }
+
+    public static String getPropertyName(String name) {
+        return PROPERTY_PREFIX + name;
+    }
+
+    public static String getEnvironmentVariableName(String name) {
+        return getPropertyName(name).replaceAll("[.-]", "_").toUpperCase(Locale.ROOT);
+    }
+
+    public static String getString(String name, String defaultValue) {
+        String value = System.getProperty(getPropertyName(name));
+        if (value == null) {
+            value = System.getenv(getEnvironmentVariableName(name));
+        }
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        return value.trim();
+    }
+
+    public static boolean getBoolean(String name, boolean defaultValue) {
+        String value = getString(name, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    public static int getInt(String name, int defaultValue) {
+        String value = getString(name, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            Main.log(IStatus.WARNING, "Invalid value '" + value + "' for setting '" + getPropertyName(name)
+                    + "', using " + defaultValue + " instead.", null);
+            return defaultValue;
+        }
+    }
+}
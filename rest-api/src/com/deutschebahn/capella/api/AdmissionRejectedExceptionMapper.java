@@ -0,0 +1,17 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.api;
+
+import com.deutschebahn.capella.integration.AdmissionControl;
+
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Answers requests rejected because too many requests of their kind are
+ * running or waiting with {@code 503 Service Unavailable}.
+ */
+@Provider
+public class AdmissionRejectedExceptionMapper
+        extends ServiceUnavailableExceptionMapper<AdmissionControl.RejectedException> {
+}
@@ -0,0 +1,18 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.api;
+
+import com.deutschebahn.capella.integration.UiDispatcher;
+
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Answers requests whose work could not be run on the UI thread in time with
+ * {@code 503 Service Unavailable} instead of keeping the worker thread
+ * blocked.
+ */
+@Provider
+public class DeadlineExceededExceptionMapper
+        extends ServiceUnavailableExceptionMapper<UiDispatcher.DeadlineExceededException> {
+}
@@ -0,0 +1,95 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.api;
+
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Entity tags for conditional GET requests.
+ *
+ * Tags are built from cheap version tokens of the listed data, such as
+ * sequence numbers of the change feed, and are prefixed with the start time
+ * of the server, because the tokens start again after a restart.
+ *
+ * Tags are weak: a response is served as JSON or CBOR and may be compressed,
+ * so its representations share the tag without being byte-for-byte equal.
+ * Responses therefore vary by {@code Accept} and {@code Accept-Encoding}.
+ */
+public final class EntityTags {
+    private static final String SERVER_ID = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private static final String VARY = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING;
+
+    private static final CacheControl REVALIDATE = new CacheControl();
+
+    static {
+        // Clients may keep responses but have to revalidate them on each use
+        REVALIDATE.setNoCache(true);
+        REVALIDATE.setNoTransform(false);
+    }
+
+    private EntityTags() {
+    }
+
+    public static EntityTag create(Object... versions) {
+        StringBuilder value = new StringBuilder(SERVER_ID);
+        for (Object version : versions) {
+            value.append('-').append(version);
+        }
+        return of(value.toString());
+    }
+
+    /**
+     * Returns the tag for a value that stays valid across restarts, such as
+     * the key of a cached file.
+     */
+    public static EntityTag of(String value) {
+        return new EntityTag(value, true);
+    }
+
+    /**
+     * Whether the value of an {@code If-None-Match} header matches the tag.
+     * Weak comparison is used, as for all GET requests, so weak and strong
+     * tags match if their values are equal.
+     */
+    public static boolean matches(String ifNoneMatch, EntityTag tag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.equals("*")) {
+                return true;
+            }
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("\"" + tag.getValue() + "\"")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a {@code 304 Not Modified} response if the tag matches the
+     * {@code If-None-Match} header, otherwise {@code null}.
+     */
+    public static Response notModified(String ifNoneMatch, EntityTag tag) {
+        if (!matches(ifNoneMatch, tag)) {
+            return null;
+        }
+        return Response.notModified(tag).cacheControl(REVALIDATE).header(HttpHeaders.VARY, VARY).build();
+    }
+
+    /**
+     * Builds the response with the tag, requiring clients to revalidate it.
+     */
+    public static Response tagged(Response.ResponseBuilder builder, EntityTag tag) {
+        return builder.tag(tag).cacheControl(REVALIDATE).header(HttpHeaders.VARY, VARY).build();
+    }
+}
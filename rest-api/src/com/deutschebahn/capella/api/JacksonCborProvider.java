@@ -0,0 +1,27 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.api;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.jakarta.rs.cbor.JacksonCBORProvider;
+
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Binary CBOR encoding of the API responses, selected with
+ * {@code Accept: application/cbor}. The mapper is configured like the one of
+ * {@link JacksonJsonProvider}.
+ */
+@Provider
+@Consumes({JacksonCborProvider.APPLICATION_CBOR})
+@Produces({JacksonCborProvider.APPLICATION_CBOR})
+public class JacksonCborProvider extends JacksonCBORProvider {
+    public static final String APPLICATION_CBOR = "application/cbor";
+
+    public JacksonCborProvider() {
+        setMapper(JacksonJsonProvider.createObjectMapper(new CBORFactory()));
+    }
+}
@@ -3,11 +3,14 @@
 
 package com.deutschebahn.capella.api;
 
+import com.deutschebahn.capella.ServerConfig;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 
 import com.fasterxml.jackson.datatype.jsr310.*;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
 
 import com.fasterxml.jackson.jakarta.rs.json.JacksonXmlBindJsonProvider;
 
@@ -19,16 +22,23 @@ import jakarta.ws.rs.ext.Provider;
 @Produces({MediaType.APPLICATION_JSON})
 public class JacksonJsonProvider extends JacksonXmlBindJsonProvider {
 
-    public JacksonJsonProvider() {
-
-        ObjectMapper objectMapper = new ObjectMapper()
+    /**
+     * Creates the mapper shared by all response encodings. Output is compact,
+     * see {@link PrettyPrintFilter} for indented output on request.
+     */
+    public static ObjectMapper createObjectMapper(JsonFactory factory) {
+        ObjectMapper objectMapper = new ObjectMapper(factory)
             .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
             .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
-            .enable(SerializationFeature.INDENT_OUTPUT)
-            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
             .registerModule(new JavaTimeModule())
             .setDateFormat(new RFC3339DateFormat());
+        if (ServerConfig.getBoolean("json.blackbird", false)) {
+            objectMapper.registerModule(new BlackbirdModule());
+        }
+        return objectMapper;
+    }
 
-        setMapper(objectMapper);
+    public JacksonJsonProvider() {
+        setMapper(createObjectMapper(new JsonFactory()));
     }
 }
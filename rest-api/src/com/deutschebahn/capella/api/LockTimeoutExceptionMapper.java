@@ -0,0 +1,17 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.api;
+
+import com.deutschebahn.capella.integration.ProjectLocks;
+
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Answers requests that could not lock their project in time, because other
+ * requests are working on it, with {@code 503 Service Unavailable}.
+ */
+@Provider
+public class LockTimeoutExceptionMapper
+        extends ServiceUnavailableExceptionMapper<ProjectLocks.LockTimeoutException> {
+}
@@ -0,0 +1,61 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.api;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.jakarta.rs.cfg.EndpointConfigBase;
+import com.fasterxml.jackson.jakarta.rs.cfg.ObjectWriterInjector;
+import com.fasterxml.jackson.jakarta.rs.cfg.ObjectWriterModifier;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Enables indented output with keys ordered by name for a request, either
+ * with the query parameter {@code pretty} (e.g. {@code ?pretty} or
+ * {@code ?pretty=true}) or with a media type parameter in the accept header
+ * (e.g. {@code Accept: application/json; pretty=true}).
+ */
+@Provider
+public class PrettyPrintFilter implements ContainerResponseFilter {
+    public static final String PRETTY = "pretty";
+
+    private static final ObjectWriterModifier PRETTY_PRINTER = new ObjectWriterModifier() {
+        @Override
+        public ObjectWriter modify(EndpointConfigBase<?> endpoint, MultivaluedMap<String, Object> responseHeaders,
+                Object valueToWrite, ObjectWriter w, JsonGenerator g) throws IOException {
+            return w.withDefaultPrettyPrinter().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        }
+    };
+
+    private static boolean isPretty(String value) {
+        return value != null && (value.isEmpty() || Boolean.parseBoolean(value));
+    }
+
+    private static boolean isPrettyRequested(ContainerRequestContext requestContext) {
+        if (isPretty(requestContext.getUriInfo().getQueryParameters().getFirst(PRETTY))) {
+            return true;
+        }
+        for (MediaType mediaType : requestContext.getAcceptableMediaTypes()) {
+            if (isPretty(mediaType.getParameters().get(PRETTY))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        // The injector is thread-local, so it is (re)set for every response
+        ObjectWriterInjector.set(isPrettyRequested(requestContext) ? PRETTY_PRINTER : null);
+    }
+}
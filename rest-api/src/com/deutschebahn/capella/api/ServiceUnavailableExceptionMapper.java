@@ -0,0 +1,24 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.api;
+
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+
+/**
+ * Answers requests the server is too busy to serve right now with
+ * {@code 503 Service Unavailable}, asking the client to retry shortly.
+ */
+public abstract class ServiceUnavailableExceptionMapper<E extends Throwable> implements ExceptionMapper<E> {
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    @Override
+    public Response toResponse(E exception) {
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .entity(new ApiResponseMessage(ApiResponseMessage.ERROR, exception.getMessage()))
+                .build();
+    }
+}
@@ -0,0 +1,137 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.api;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * A list response whose elements are created while it is written, so that
+ * they never have to be held in memory at the same time. The elements are
+ * created again each time the list is written, so a response can be shared
+ * by several requests.
+ *
+ * The elements are written as JSON array (or CBOR array) directly to the
+ * generator of the response. If fields are given, only these properties of
+ * each element are written. Pages of a list are addressed by opaque cursors
+ * that name the position and key of the last element of the previous page,
+ * so that a listing can be continued even if elements were added or removed
+ * in the meantime.
+ */
+@JsonSerialize(using = StreamedList.Serializer.class)
+public class StreamedList {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final ObjectMapper PROJECTION_MAPPER = JacksonJsonProvider.createObjectMapper(new JsonFactory());
+    private static final String SEPARATOR = ":";
+
+    public static class Serializer extends StdSerializer<StreamedList> {
+        private static final long serialVersionUID = 1L;
+
+        public Serializer() {
+            super(StreamedList.class);
+        }
+
+        @Override
+        public void serialize(StreamedList value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeStartArray();
+            for (Object element : value.elements) {
+                if (value.fields != null) {
+                    JsonNode node = PROJECTION_MAPPER.valueToTree(element);
+                    if (node instanceof ObjectNode) {
+                        ((ObjectNode) node).retain(value.fields);
+                    }
+                    provider.defaultSerializeValue(node, generator);
+                } else {
+                    provider.defaultSerializeValue(element, generator);
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private final Iterable<?> elements;
+    private final Set<String> fields;
+
+    /**
+     * @param fields the properties to write, or {@code null} for all
+     */
+    public StreamedList(Iterable<?> elements, Set<String> fields) {
+        this.elements = elements;
+        this.fields = fields;
+    }
+
+    /**
+     * Parses a comma-separated list of property names. Returns {@code null}
+     * if no names are given.
+     */
+    public static Set<String> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : fields.split(",")) {
+            if (!name.isBlank()) {
+                names.add(name.trim());
+            }
+        }
+        return names.isEmpty() ? null : names;
+    }
+
+    /**
+     * Returns the index of the first element after the cursor. If the last
+     * element of the previous page has moved, the listing continues after
+     * its new position, if it has been removed, at its previous position.
+     *
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    public static <T> int getStartIndex(List<T> elements, String cursor, Function<T, String> key) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        String decoded;
+        int index;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            index = Integer.parseInt(decoded.substring(0, decoded.indexOf(SEPARATOR)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor '" + cursor + "'", e);
+        }
+        String lastKey = decoded.substring(decoded.indexOf(SEPARATOR) + 1);
+        if (index > 0 && index <= elements.size() && lastKey.equals(key.apply(elements.get(index - 1)))) {
+            return index;
+        }
+        for (int i = 0; i < elements.size(); i++) {
+            if (lastKey.equals(key.apply(elements.get(i)))) {
+                return i + 1;
+            }
+        }
+        // The elements following the removed one have moved up by one
+        return Math.max(0, Math.min(index - 1, elements.size()));
+    }
+
+    /**
+     * Returns the cursor of the page ending before the element at the given
+     * index.
+     */
+    public static <T> String getCursor(List<T> elements, int end, Function<T, String> key) {
+        String cursor = end + SEPARATOR + key.apply(elements.get(end - 1));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -4,93 +4,65 @@
 package com.deutschebahn.capella.api.impl;
 
 import java.io.File;
-import java.util.Collection;
+import java.io.IOException;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
-import org.eclipse.core.resources.IFile;
-import org.eclipse.core.resources.IProject;
-import org.eclipse.core.resources.IProjectDescription;
-import org.eclipse.core.resources.IWorkspace;
-import org.eclipse.core.resources.ResourcesPlugin;
-import org.eclipse.core.runtime.IPath;
-import org.eclipse.core.runtime.NullProgressMonitor;
-import org.eclipse.core.runtime.Path;
-import org.eclipse.emf.common.util.URI;
-import org.eclipse.sirius.business.api.dialect.DialectManager;
-import org.eclipse.sirius.business.api.session.Session;
-import org.eclipse.sirius.business.api.session.SessionManager;
-import org.eclipse.sirius.ui.business.api.session.SessionEditorInput;
-import org.eclipse.sirius.viewpoint.DRepresentationDescriptor;
-import org.eclipse.ui.IEditorInput;
-import org.eclipse.ui.IEditorReference;
-import org.eclipse.ui.IWorkbench;
-import org.eclipse.ui.IWorkbenchPage;
-import org.eclipse.ui.IWorkbenchWindow;
-import org.eclipse.ui.PartInitException;
-import org.eclipse.ui.PlatformUI;
+import org.eclipse.core.runtime.IStatus;
 
+import com.deutschebahn.capella.Main;
 import com.deutschebahn.capella.api.ApiException;
 import com.deutschebahn.capella.api.ApiResponseMessage;
+import com.deutschebahn.capella.api.EntityTags;
 import com.deutschebahn.capella.api.ProjectsApiService;
-import com.deutschebahn.capella.integration.WorkspaceProjectInt;
+import com.deutschebahn.capella.api.StreamedList;
+import com.deutschebahn.capella.integration.AdmissionControl;
+import com.deutschebahn.capella.integration.DiagramDescriptor;
+import com.deutschebahn.capella.integration.DiagramImage;
+import com.deutschebahn.capella.integration.DiagramListing;
+import com.deutschebahn.capella.integration.ProjectLocks;
+import com.deutschebahn.capella.integration.WorkspaceAccess;
+import com.deutschebahn.capella.model.BulkImportProjectsRequest;
 import com.deutschebahn.capella.model.Diagram;
-import com.deutschebahn.capella.model.DiagramEditor;
 import com.deutschebahn.capella.model.ImportProjectRequest;
+import com.deutschebahn.capella.model.ImportProjectResult;
+import com.deutschebahn.capella.model.ModelElementPage;
+import com.deutschebahn.capella.model.ProjectOperation;
+import com.deutschebahn.capella.model.ProjectOperationsRequest;
 
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.SecurityContext;
+import jakarta.ws.rs.core.UriBuilder;
 
 @jakarta.annotation.Generated(value = "org.openapitools.codegen.languages.JavaJerseyServerCodegen", comments = "Generator version: 7.7.0")
 public class ProjectsApiServiceImpl extends ProjectsApiService {
-    private static URI getEMFURIForAirdFile(IPath directoryPath) {
-        File directory = directoryPath.toFile();
-        if (directory.isDirectory()) {
-            File[] files = directory.listFiles((dir, name) -> name.endsWith(".aird"));
-            if (files != null && files.length > 0) {
-                // Assuming there's only one .aird file in the directory
-                File airdFile = files[0];
-                return URI.createFileURI(airdFile.getAbsolutePath());
-            }
-        }
-        return null;
-    }
-
-    private Session getSession(IProject project) throws ApiException {
-        URI airdFileName = getEMFURIForAirdFile(project.getLocation());
-        if (airdFileName == null) {
-            throw new ApiException(Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(),
-                    "An .aird file is required to get a session for the Capella project.");
-        }
-        final Session session = SessionManager.INSTANCE.getSession(airdFileName, new NullProgressMonitor());
-        if (session == null) {
-            throw new ApiException(Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(),
-                    "Cannot get session for project");
-        }
-        return session;
+    private static Response error(ApiException e) {
+        return Response.status(e.getCode())
+                .entity(new ApiResponseMessage(ApiResponseMessage.ERROR, e.getMessage())).build();
     }
 
-    private IProject getWorkspaceProjectByName(String name) throws ApiException {
-        IWorkspace workspace = ResourcesPlugin.getWorkspace();
-        IProject workspaceProject = workspace.getRoot().getProject(name);
-        if (!workspaceProject.exists()) {
-            throw new ApiException(Response.Status.NOT_FOUND.getStatusCode(), "Project named '" + name + "' not found");
-        }
-        return workspaceProject;
+    /**
+     * Runs the request once it is admitted. Identical listings running at the
+     * same time share the entity of the response.
+     */
+    private static Response admit(AdmissionControl.Endpoint endpoint, String key, Supplier<Response> request) {
+        return Response.fromResponse(AdmissionControl.INSTANCE.call(endpoint, key, request)).build();
     }
 
     @Override
     public Response closeProjectByName(String projectName, SecurityContext securityContext) {
-        IProject workspaceProject;
+        ProjectLocks.Held lock = ProjectLocks.INSTANCE.write(projectName);
         try {
-            workspaceProject = getWorkspaceProjectByName(projectName);
+            WorkspaceAccess.INSTANCE.closeProject(projectName);
         } catch (ApiException e) {
-            return Response.status(Response.Status.NOT_FOUND)
-                    .entity(new ApiResponseMessage(ApiResponseMessage.ERROR, e.getMessage())).build();
-        }
-        try {
-            workspaceProject.close(null);
+            return error(e);
         } catch (Exception e) {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                     .entity(new ApiResponseMessage(ApiResponseMessage.ERROR, e.getMessage())).build();
+        } finally {
+            lock.close();
         }
         return Response.noContent().build();
     }
@@ -99,173 +71,293 @@ public class ProjectsApiServiceImpl extends ProjectsApiService {
     public Response deleteProjectByName(String projectName,
             Boolean deleteContents,
             SecurityContext securityContext) {
-        IProject workspaceProject = null;
+        ProjectLocks.Held lock = ProjectLocks.INSTANCE.write(projectName);
         try {
-            workspaceProject = getWorkspaceProjectByName(projectName);
+            WorkspaceAccess.INSTANCE.deleteProject(projectName, Boolean.TRUE.equals(deleteContents));
         } catch (ApiException e) {
-            return Response.status(Response.Status.NOT_FOUND)
-                    .entity(new ApiResponseMessage(ApiResponseMessage.ERROR, e.getMessage())).build();
-        }
-        try {
-            workspaceProject.delete(deleteContents, true, null);
+            return error(e);
         } catch (Exception e) {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                     .entity(new ApiResponseMessage(ApiResponseMessage.ERROR, e.getMessage())).build();
+        } finally {
+            lock.close();
         }
         return Response.noContent().build();
     }
 
     @Override
-    public Response getDiagramEditorsByProjectName(String projectName, SecurityContext securityContext) {
-        java.util.List<DiagramEditor> diagramEditorList = new java.util.ArrayList<DiagramEditor>();
-        IWorkbench workbench = PlatformUI.getWorkbench();
-        IWorkbenchWindow[] windows = workbench.getWorkbenchWindows();
-        for (IWorkbenchWindow window : windows) {
-            IWorkbenchPage[] pages = window.getPages();
-            for (IWorkbenchPage page : pages) {
-                IEditorReference[] editorReferences = page.getEditorReferences();
-                for (IEditorReference editorReference : editorReferences) {
-                    try {
-                        IEditorInput input = editorReference.getEditorInput();
-                        if (input instanceof SessionEditorInput) {
-                            SessionEditorInput sessionEditorInput = (SessionEditorInput) input;
-                            URI uri = sessionEditorInput.getURI();
-                            IFile file = ResourcesPlugin.getWorkspace().getRoot()
-                                    .getFile(new Path(uri.toPlatformString(true)));
-                            IProject project = file.getProject();
-                            if (project.getName().equals(projectName)) {
-                                DiagramEditor diagramEditor = new DiagramEditor();
-                                diagramEditor.setName(sessionEditorInput.getName());
-                                diagramEditor.setUri(sessionEditorInput.getURI().toString());
-                                String repDesUri = sessionEditorInput.getRepDescUri().toString();
-                                diagramEditor.setId(repDesUri.split("#")[1]);
-                                diagramEditorList.add(diagramEditor);
-                                if (editorReference.getEditor(false) == null) {
-                                    System.out.println(sessionEditorInput.getName() + " is null");
-                                }
-                            }
-                        }
-                    } catch (PartInitException e) {
-                    }
-                }
-            }
-        }
+    public Response getDiagramEditorsByProjectName(String projectName, String ifNoneMatch,
+            SecurityContext securityContext) {
+        return admit(AdmissionControl.Endpoint.DIAGRAM_EDITORS, AdmissionControl.key(projectName, ifNoneMatch),
+                () -> listDiagramEditors(projectName, ifNoneMatch));
+    }
 
-        return Response.ok().entity(diagramEditorList).build();
+    private Response listDiagramEditors(String projectName, String ifNoneMatch) {
+        // Editors are opened and closed with events of the project
+        EntityTag tag = EntityTags.create(WorkspaceAccess.INSTANCE.getEditorsVersion(projectName));
+        Response notModified = EntityTags.notModified(ifNoneMatch, tag);
+        if (notModified != null) {
+            return notModified;
+        }
+        return EntityTags.tagged(Response.ok().entity(WorkspaceAccess.INSTANCE.getDiagramEditors(projectName)), tag);
     }
 
     @Override
-    public Response getDiagramsByProjectName(String projectName, SecurityContext securityContext) {
-        IProject workspaceProject = null;
+    public Response getDiagramImage(String projectName, String diagramId, String format, String ifNoneMatch,
+            SecurityContext securityContext) {
+        ProjectLocks.Held lock = ProjectLocks.INSTANCE.read(projectName);
         try {
-            workspaceProject = getWorkspaceProjectByName(projectName);
-        } catch (ApiException e) {
-            return Response.status(Response.Status.NOT_FOUND)
-                    .entity(new ApiResponseMessage(ApiResponseMessage.ERROR, e.getMessage())).build();
+            return renderDiagramImage(projectName, diagramId, format, ifNoneMatch);
+        } finally {
+            lock.close();
         }
-        Session session = null;
+    }
+
+    private Response renderDiagramImage(String projectName, String diagramId, String format, String ifNoneMatch) {
+        DiagramImage image;
         try {
-            session = getSession(workspaceProject);
+            image = WorkspaceAccess.INSTANCE.getDiagramImage(projectName, diagramId, format == null ? "svg" : format);
         } catch (ApiException e) {
-            return Response.status(Response.Status.NOT_FOUND)
-                    .entity(new ApiResponseMessage(ApiResponseMessage.ERROR, e.getMessage())).build();
+            return error(e);
+        }
+        EntityTag tag = EntityTags.of(image.getKey());
+        Response notModified = EntityTags.notModified(ifNoneMatch, tag);
+        if (notModified != null) {
+            return notModified;
         }
-        Collection<DRepresentationDescriptor> representationDescriptors = DialectManager.INSTANCE
-                .getAllRepresentationDescriptors(session);
-        java.util.List<Diagram> diagramList = new java.util.ArrayList<Diagram>();
-        for (DRepresentationDescriptor representationDescriptor : representationDescriptors) {
-            Diagram diagram = new Diagram();
-            diagram.setId(representationDescriptor.getUid());
-            diagram.setName(representationDescriptor.getName());
-            diagramList.add(diagram);
+        File file;
+        try {
+            file = image.getFile();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            Main.log(IStatus.ERROR, "Cannot render diagram '" + diagramId + "' of project '" + projectName + "'.", e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(new ApiResponseMessage(ApiResponseMessage.ERROR, e.getMessage())).build();
         }
-        return Response.ok().entity(diagramList).build();
+        return EntityTags.tagged(Response.ok(file, image.getMediaType()), tag);
     }
 
     @Override
-    public Response importProject(ImportProjectRequest body, SecurityContext securityContext) {
-        IWorkspace workspace = ResourcesPlugin.getWorkspace();
-        String projectFolderPath = body.getLocation();
-        File projectFolder = new File(projectFolderPath);
-        if (!projectFolder.exists()) {
-            return Response.status(Response.Status.NOT_FOUND)
-                    .entity(new ApiResponseMessage(ApiResponseMessage.ERROR, "Project folder not found")).build();
+    public Response getDiagramsByProjectName(String projectName, Integer limit, String cursor, String fields,
+            String ifNoneMatch, SecurityContext securityContext) {
+        return admit(AdmissionControl.Endpoint.DIAGRAMS,
+                AdmissionControl.key(projectName, limit, cursor, fields, ifNoneMatch), () -> {
+                    ProjectLocks.Held lock = ProjectLocks.INSTANCE.read(projectName);
+                    try {
+                        return listDiagrams(projectName, limit, cursor, fields, ifNoneMatch);
+                    } finally {
+                        lock.close();
+                    }
+                });
+    }
+
+    /**
+     * Responds with the page of the elements selected by limit and cursor.
+     * The elements are converted only while the response is written.
+     */
+    private static <T> Response streamPage(java.util.List<T> elements, Integer limit, String cursor, String fields,
+            Function<T, String> key, Function<T, ?> converter, EntityTag tag) {
+        if (limit != null && limit < 1) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ApiResponseMessage(ApiResponseMessage.ERROR, "The limit must be at least 1")).build();
         }
-        File dotProjectFile = new File(projectFolder, ".project");
-        if (!dotProjectFile.exists()) {
+        int start;
+        try {
+            start = StreamedList.getStartIndex(elements, cursor, key);
+        } catch (IllegalArgumentException e) {
             return Response.status(Response.Status.BAD_REQUEST)
-                    .entity(new ApiResponseMessage(ApiResponseMessage.ERROR,
-                            "Project folder does not contain .project file"))
-                    .build();
+                    .entity(new ApiResponseMessage(ApiResponseMessage.ERROR, e.getMessage())).build();
         }
-        IPath projectLocation = new Path(dotProjectFile.getAbsolutePath());
+        int end = limit == null ? elements.size() : (int) Math.min(elements.size(), (long) start + limit);
+        java.util.List<T> page = elements.subList(start, end);
+        Response.ResponseBuilder builder = Response.ok()
+                .entity(new StreamedList(() -> page.stream().<Object>map(converter).iterator(),
+                        StreamedList.parseFields(fields)));
+        if (end < elements.size()) {
+            builder.header(StreamedList.NEXT_CURSOR_HEADER, StreamedList.getCursor(elements, end, key));
+        }
+        return EntityTags.tagged(builder, tag);
+    }
+
+    private static Diagram toDiagram(DiagramDescriptor descriptor) {
+        Diagram diagram = new Diagram();
+        diagram.setId(descriptor.getUid());
+        diagram.setName(descriptor.getName());
+        return diagram;
+    }
+
+    private Response listDiagrams(String projectName, Integer limit, String cursor, String fields,
+            String ifNoneMatch) {
         try {
-            IProjectDescription projectDescription = workspace
-                    .loadProjectDescription(projectLocation);
-            IProject project = workspace.getRoot().getProject(projectDescription.getName());
-            if (project.exists()) {
-                return Response.status(Response.Status.CONFLICT)
-                        .entity(new ApiResponseMessage(ApiResponseMessage.ERROR, "Project already exists")).build();
+            // Unsaved changes are only visible in an open session, otherwise
+            // the diagrams are read from the .aird file if possible
+            DiagramListing listing = WorkspaceAccess.INSTANCE.getOpenSessionDiagrams(projectName);
+            if (listing == null) {
+                listing = WorkspaceAccess.INSTANCE.getFileDiagrams(projectName);
             }
-            project.create(projectDescription, null);
-            project.open(null);
-            WorkspaceProjectInt projectInt = new WorkspaceProjectInt(
-                    (org.eclipse.core.internal.resources.Project) project);
-            // todo: URL in response header is `http://localhost:5007/projects/(...)` which
-            // is wrong
-            return Response.created(new java.net.URI("/projects/" + projectInt.getName()))
+            if (listing != null) {
+                Response response = streamDiagrams(projectName, listing, limit, cursor, fields, ifNoneMatch);
+                if (response != null) {
+                    return response;
+                }
+            }
+            return streamDiagrams(projectName, WorkspaceAccess.INSTANCE.getSessionDiagrams(projectName), limit,
+                    cursor, fields, ifNoneMatch);
+        } catch (ApiException e) {
+            return error(e);
+        }
+    }
+
+    /**
+     * Returns {@code null} if the diagrams cannot be read from the listing.
+     */
+    private Response streamDiagrams(String projectName, DiagramListing listing, Integer limit, String cursor,
+            String fields, String ifNoneMatch) {
+        EntityTag tag = EntityTags.create(listing.getVersion());
+        Response notModified = EntityTags.notModified(ifNoneMatch, tag);
+        if (notModified != null) {
+            return notModified;
+        }
+        java.util.List<DiagramDescriptor> descriptors;
+        try {
+            descriptors = listing.read();
+        } catch (IOException e) {
+            Main.log(IStatus.WARNING, "Cannot read diagrams of project '" + projectName
+                    + "' without a session, loading its session instead.", e);
+            return null;
+        }
+        return streamPage(descriptors, limit, cursor, fields, DiagramDescriptor::getUid,
+                ProjectsApiServiceImpl::toDiagram, tag);
+    }
+
+    @Override
+    public Response bulkImportProjects(BulkImportProjectsRequest body, SecurityContext securityContext) {
+        java.util.List<String> locations = body.getLocations();
+        if (locations == null || locations.isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ApiResponseMessage(ApiResponseMessage.ERROR, "No project folders given")).build();
+        }
+        return Response.ok().entity(WorkspaceAccess.INSTANCE.importProjects(locations)).build();
+    }
+
+    @Override
+    public Response importProject(ImportProjectRequest body, SecurityContext securityContext) {
+        return admit(AdmissionControl.Endpoint.IMPORT, AdmissionControl.key(body.getLocation()),
+                () -> importProject(body.getLocation()));
+    }
+
+    private Response importProject(String location) {
+        ImportProjectResult result = WorkspaceAccess.INSTANCE
+                .importProjects(java.util.Collections.singletonList(location)).get(0);
+        Response.Status status;
+        switch (result.getStatus()) {
+        case "imported":
+            // Relative locations are resolved against the base URI of the API
+            return Response.created(UriBuilder.fromPath("projects/{name}").build(result.getProject()))
+                    .entity(WorkspaceAccess.INSTANCE.toWorkspaceProject(result.getProject()))
                     .build();
-        } catch (Exception e) {
-            e.printStackTrace();
+        case "not-found":
+            status = Response.Status.NOT_FOUND;
+            break;
+        case "invalid":
+            status = Response.Status.BAD_REQUEST;
+            break;
+        case "exists":
+            status = Response.Status.CONFLICT;
+            break;
+        default:
+            status = Response.Status.INTERNAL_SERVER_ERROR;
+            break;
         }
-        return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                .entity(new ApiResponseMessage(ApiResponseMessage.ERROR, "Failed to import project")).build();
+        return Response.status(status)
+                .entity(new ApiResponseMessage(ApiResponseMessage.ERROR, result.getMessage())).build();
     }
 
     @Override
-    public Response listProjects(SecurityContext securityContext) {
-        IWorkspace workspace = ResourcesPlugin.getWorkspace();
-        IProject[] projects = workspace.getRoot().getProjects();
-        java.util.List<com.deutschebahn.capella.model.WorkspaceProject> projectIntList = new java.util.ArrayList<com.deutschebahn.capella.model.WorkspaceProject>();
-        for (IProject project : projects) {
-            WorkspaceProjectInt projectInt = new WorkspaceProjectInt(
-                    (org.eclipse.core.internal.resources.Project) project);
-            projectIntList.add(projectInt);
+    public Response listProjects(Integer limit, String cursor, String fields, String ifNoneMatch,
+            SecurityContext securityContext) {
+        // Projects are added, removed, opened, closed and modified with events
+        EntityTag tag = EntityTags.create(WorkspaceAccess.INSTANCE.getProjectsVersion());
+        Response notModified = EntityTags.notModified(ifNoneMatch, tag);
+        if (notModified != null) {
+            return notModified;
         }
-        return Response.ok().entity(projectIntList).build();
+        // Cursors rely on the order by name
+        java.util.List<String> projectNames = WorkspaceAccess.INSTANCE.getProjectNames();
+        Set<String> dirtyProjectNames = WorkspaceAccess.INSTANCE.getDirtyProjectNames();
+        return streamPage(projectNames, limit, cursor, fields, Function.identity(),
+                projectName -> WorkspaceAccess.INSTANCE.toWorkspaceProject(projectName, dirtyProjectNames), tag);
     }
 
     @Override
     public Response openProjectByName(String projectName, SecurityContext securityContext) {
-        IProject workspaceProject;
+        ProjectLocks.Held lock = ProjectLocks.INSTANCE.write(projectName);
         try {
-            workspaceProject = getWorkspaceProjectByName(projectName);
+            WorkspaceAccess.INSTANCE.openProject(projectName);
         } catch (ApiException e) {
-            return Response.status(Response.Status.NOT_FOUND)
-                    .entity(new ApiResponseMessage(ApiResponseMessage.ERROR, e.getMessage())).build();
-        }
-        try {
-            workspaceProject.open(null);
+            return error(e);
         } catch (Exception e) {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                     .entity(new ApiResponseMessage(ApiResponseMessage.ERROR, e.getMessage())).build();
+        } finally {
+            lock.close();
         }
         return Response.noContent().build();
     }
 
+    @Override
+    public Response queryElements(String projectName, String id, String metaclass, String name, Integer offset,
+            Integer limit, SecurityContext securityContext) {
+        ProjectLocks.Held lock = ProjectLocks.INSTANCE.read(projectName);
+        try {
+            return findElements(projectName, id, metaclass, name, offset, limit);
+        } finally {
+            lock.close();
+        }
+    }
+
+    private Response findElements(String projectName, String id, String metaclass, String name, Integer offset,
+            Integer limit) {
+        int first = offset == null ? 0 : offset;
+        int count = limit == null ? 100 : limit;
+        if (first < 0 || count < 1 || count > 1000) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ApiResponseMessage(ApiResponseMessage.ERROR, "Invalid offset or limit")).build();
+        }
+        ModelElementPage modelElementPage;
+        try {
+            modelElementPage = WorkspaceAccess.INSTANCE.queryElements(projectName, id, metaclass, name, first,
+                    count);
+        } catch (ApiException e) {
+            return error(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .entity(new ApiResponseMessage(ApiResponseMessage.ERROR, "Interrupted while indexing the model"))
+                    .build();
+        }
+        return Response.ok().entity(modelElementPage).build();
+    }
+
+    @Override
+    public Response runProjectOperations(ProjectOperationsRequest body, SecurityContext securityContext) {
+        java.util.List<ProjectOperation> operations = body.getOperations();
+        if (operations == null || operations.isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ApiResponseMessage(ApiResponseMessage.ERROR, "No operations given")).build();
+        }
+        return Response.ok().entity(WorkspaceAccess.INSTANCE.runProjectOperations(operations,
+                Boolean.TRUE.equals(body.getStopOnError()))).build();
+    }
+
     @Override
     public Response saveProjectByName(String projectName,
             SecurityContext securityContext) {
-        IProject workspaceProject;
         try {
-            workspaceProject = getWorkspaceProjectByName(projectName);
+            return JobsApiServiceImpl.accepted(WorkspaceAccess.INSTANCE.save(projectName));
         } catch (ApiException e) {
-            return Response.status(Response.Status.NOT_FOUND)
-                    .entity(new ApiResponseMessage(ApiResponseMessage.ERROR, e.getMessage())).build();
+            return error(e);
         }
-        WorkspaceProjectInt projectInt = new WorkspaceProjectInt(
-                (org.eclipse.core.internal.resources.Project) workspaceProject);
-        projectInt.save();
-        return Response.noContent().build();
     }
 }
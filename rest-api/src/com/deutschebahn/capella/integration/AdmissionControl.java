@@ -0,0 +1,257 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.integration;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.deutschebahn.capella.ServerConfig;
+import com.deutschebahn.capella.metrics.Counter;
+import com.deutschebahn.capella.metrics.Histogram;
+import com.deutschebahn.capella.metrics.MetricsRegistry;
+
+/**
+ * Limits how many expensive requests run at the same time.
+ *
+ * Each endpoint has a number of requests allowed to run in parallel
+ * ({@code capella.api.admission.<endpoint>.concurrency}) and a number of
+ * requests allowed to wait for them
+ * ({@code capella.api.admission.<endpoint>.queue}). Requests arriving while the
+ * queue is full, or waiting longer than {@code capella.api.admission.timeout},
+ * are rejected and answered with 503. A read-only request that is identical
+ * to one already running does not take a slot, but waits for and shares the
+ * result of the running one, so the result must be safe to be used by
+ * several requests. It waits at most as long as a queued request and is
+ * rejected afterwards. Requests that change the workspace always run on
+ * their own.
+ */
+public class AdmissionControl {
+    public static final AdmissionControl INSTANCE = new AdmissionControl();
+
+    public enum Endpoint {
+        DIAGRAMS(4, 16, true), DIAGRAM_EDITORS(4, 16, true), IMPORT(1, 8, false);
+
+        private final int defaultConcurrency;
+        private final int defaultQueue;
+        private final boolean coalescible;
+
+        Endpoint(int defaultConcurrency, int defaultQueue, boolean coalescible) {
+            this.defaultConcurrency = defaultConcurrency;
+            this.defaultQueue = defaultQueue;
+            this.coalescible = coalescible;
+        }
+
+        public String toValue() {
+            return name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+    }
+
+    public static class RejectedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public RejectedException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * The limits and statistics of an endpoint.
+     */
+    public static class Limit {
+        private final Endpoint endpoint;
+        private final int concurrency;
+        private final int queueLimit;
+        private final Semaphore permits;
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicLong admitted = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong coalesced = new AtomicLong();
+
+        Limit(Endpoint endpoint) {
+            this.endpoint = endpoint;
+            String prefix = "admission." + endpoint.toValue();
+            this.concurrency = Math.max(1, ServerConfig.getInt(prefix + ".concurrency", endpoint.defaultConcurrency));
+            this.queueLimit = Math.max(0, ServerConfig.getInt(prefix + ".queue", endpoint.defaultQueue));
+            this.permits = new Semaphore(concurrency, true);
+        }
+
+        public Endpoint getEndpoint() {
+            return endpoint;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public int getQueueLimit() {
+            return queueLimit;
+        }
+
+        public int getActive() {
+            return active.get();
+        }
+
+        public int getQueued() {
+            return queued.get();
+        }
+
+        public long getAdmitted() {
+            return admitted.get();
+        }
+
+        public long getRejected() {
+            return rejected.get();
+        }
+
+        public long getCoalesced() {
+            return coalesced.get();
+        }
+    }
+
+    private static final Histogram WAIT_DURATION = MetricsRegistry.INSTANCE.histogram(
+            "capella_admission_wait_seconds", "Time requests waited to be admitted in seconds, by endpoint",
+            "endpoint");
+    private static final Counter REJECTIONS = MetricsRegistry.INSTANCE.counter("capella_admission_rejections_total",
+            "Number of requests rejected because too many were running or waiting, by endpoint", "endpoint");
+    private static final Counter COALESCED = MetricsRegistry.INSTANCE.counter("capella_admission_coalesced_total",
+            "Number of requests that shared the result of an identical running request, by endpoint", "endpoint");
+
+    private static final String KEY_SEPARATOR = "\u0000";
+
+    private final long timeoutMillis = ServerConfig.getInt("admission.timeout", 30000);
+    private final boolean coalesce = ServerConfig.getBoolean("admission.coalesce", true);
+    private final Map<Endpoint, Limit> limits = new EnumMap<>(Endpoint.class);
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private AdmissionControl() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            limits.put(endpoint, new Limit(endpoint));
+        }
+    }
+
+    /**
+     * Returns the key identifying a request from its parameters.
+     */
+    public static String key(Object... parameters) {
+        StringBuilder key = new StringBuilder();
+        for (Object parameter : parameters) {
+            key.append(parameter).append(KEY_SEPARATOR);
+        }
+        return key.toString();
+    }
+
+    private RejectedException reject(Limit limit, String message) {
+        limit.rejected.incrementAndGet();
+        REJECTIONS.increment(limit.endpoint.toValue());
+        return new RejectedException(message);
+    }
+
+    private void acquire(Limit limit) {
+        long start = System.nanoTime();
+        try {
+            // Unlike tryAcquire(), a zero timeout does not overtake waiting requests
+            boolean acquired = limit.permits.tryAcquire(0, TimeUnit.NANOSECONDS);
+            if (!acquired) {
+                if (limit.queued.incrementAndGet() > limit.queueLimit) {
+                    limit.queued.decrementAndGet();
+                    throw reject(limit, "Too many " + limit.endpoint.toValue() + " requests, " + limit.concurrency
+                            + " running and " + limit.queueLimit + " waiting");
+                }
+                try {
+                    acquired = limit.permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+                } finally {
+                    limit.queued.decrementAndGet();
+                }
+                if (!acquired) {
+                    throw reject(limit, "Too many " + limit.endpoint.toValue() + " requests, waited " + timeoutMillis
+                            + " ms");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw reject(limit, "Interrupted while waiting to be admitted");
+        }
+        WAIT_DURATION.observeNanos(System.nanoTime() - start, limit.endpoint.toValue());
+        limit.admitted.incrementAndGet();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T await(Limit limit, CompletableFuture<Object> running) {
+        try {
+            return (T) running.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw reject(limit, "Identical " + limit.endpoint.toValue() + " request still running, waited "
+                    + timeoutMillis + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw reject(limit, "Interrupted while waiting for an identical request");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Runs the work once it is admitted, or returns the result of an
+     * identical request that is already running if the endpoint allows it.
+     *
+     * @param key identifies the request, see {@link #key(Object...)}
+     * @throws RejectedException if the request is not admitted
+     */
+    public <T> T call(Endpoint endpoint, String key, Supplier<T> work) {
+        Limit limit = limits.get(endpoint);
+        String flightKey = endpoint.toValue() + KEY_SEPARATOR + key;
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        if (coalesce && endpoint.coalescible) {
+            CompletableFuture<Object> running = inFlight.putIfAbsent(flightKey, future);
+            if (running != null) {
+                limit.coalesced.incrementAndGet();
+                COALESCED.increment(endpoint.toValue());
+                return await(limit, running);
+            }
+        }
+        try {
+            acquire(limit);
+            limit.active.incrementAndGet();
+            try {
+                T result = work.get();
+                future.complete(result);
+                return result;
+            } finally {
+                limit.active.decrementAndGet();
+                limit.permits.release();
+            }
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, future);
+        }
+    }
+
+    /**
+     * Returns the limits of all endpoints.
+     */
+    public List<Limit> getLimits() {
+        return new ArrayList<>(limits.values());
+    }
+}
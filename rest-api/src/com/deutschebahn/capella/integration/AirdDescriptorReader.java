@@ -0,0 +1,131 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.integration;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.deutschebahn.capella.ServerConfig;
+
+/**
+ * Reads the representation descriptors directly from .aird files, without
+ * loading a Sirius session.
+ *
+ * The files are scanned with a streaming parser that stops after the
+ * {@code DAnalysis} element, so the representations stored after it are not
+ * parsed at all. Results are cached per file and read again when the
+ * modification time or size of the file changes.
+ */
+public class AirdDescriptorReader {
+    public static final AirdDescriptorReader INSTANCE = new AirdDescriptorReader();
+
+    private static final String ANALYSIS = "DAnalysis";
+    private static final String DESCRIPTOR = "ownedRepresentationDescriptors";
+
+    private static class Entry {
+        final long lastModified;
+        final long size;
+        final List<DiagramDescriptor> descriptors;
+
+        Entry(long lastModified, long size, List<DiagramDescriptor> descriptors) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.descriptors = descriptors;
+        }
+    }
+
+    private final boolean enabled = ServerConfig.getBoolean("diagrams.read-aird", true);
+    private final XMLInputFactory inputFactory = XMLInputFactory.newFactory();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private AirdDescriptorReader() {
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    /**
+     * Whether diagram listings of projects without an open session are read
+     * from the .aird files ({@code capella.api.diagrams.read-aird}).
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns a token that changes whenever the file changes.
+     */
+    public static String getVersion(File airdFile) {
+        return Long.toString(airdFile.lastModified(), Character.MAX_RADIX) + '_'
+                + Long.toString(airdFile.length(), Character.MAX_RADIX);
+    }
+
+    /**
+     * Returns the representation descriptors of the file.
+     */
+    public List<DiagramDescriptor> read(File file) throws IOException {
+        String key = file.getAbsolutePath();
+        long lastModified = file.lastModified();
+        long size = file.length();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.lastModified == lastModified && entry.size == size) {
+            return entry.descriptors;
+        }
+        List<DiagramDescriptor> descriptors;
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            descriptors = parse(in);
+        } catch (XMLStreamException e) {
+            throw new IOException("Cannot parse '" + file + "': " + e.getMessage(), e);
+        }
+        // Only cache if the file did not change while it was read
+        if (file.lastModified() == lastModified && file.length() == size) {
+            entries.put(key, new Entry(lastModified, size, descriptors));
+        }
+        return descriptors;
+    }
+
+    private List<DiagramDescriptor> parse(InputStream in) throws XMLStreamException {
+        List<DiagramDescriptor> descriptors = new ArrayList<>();
+        XMLStreamReader reader = inputFactory.createXMLStreamReader(in);
+        try {
+            int depth = 0;
+            int analysisDepth = -1;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                    String localName = reader.getLocalName();
+                    if (analysisDepth < 0 && ANALYSIS.equals(localName)) {
+                        analysisDepth = depth;
+                    } else if (DESCRIPTOR.equals(localName)) {
+                        String uid = reader.getAttributeValue(null, "uid");
+                        if (uid != null) {
+                            descriptors.add(new DiagramDescriptor(uid, reader.getAttributeValue(null, "name")));
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if (depth == analysisDepth) {
+                        // The representations following the analysis have no descriptors
+                        break;
+                    }
+                    depth--;
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return Collections.unmodifiableList(descriptors);
+    }
+}
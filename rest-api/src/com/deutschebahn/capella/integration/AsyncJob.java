@@ -0,0 +1,97 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.integration;
+
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * State of an operation that is executed after the request submitting it has
+ * been answered. Instances are created and updated by {@link JobManager}.
+ */
+public class AsyncJob {
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED;
+
+        public String toValue() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final String operation;
+    private final String projectName;
+    private final long submittedAt = System.currentTimeMillis();
+    private volatile Status status = Status.QUEUED;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private volatile String error;
+
+    AsyncJob(String operation, String projectName) {
+        this.operation = operation;
+        this.projectName = projectName;
+    }
+
+    synchronized void start() {
+        startedAt = System.currentTimeMillis();
+        status = Status.RUNNING;
+    }
+
+    synchronized void finish(Throwable failure) {
+        finishedAt = System.currentTimeMillis();
+        if (failure == null) {
+            status = Status.SUCCEEDED;
+        } else {
+            error = failure.getMessage() == null ? failure.toString() : failure.getMessage();
+            status = Status.FAILED;
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isDone() {
+        Status current = status;
+        return current == Status.SUCCEEDED || current == Status.FAILED;
+    }
+
+    public long getSubmittedAt() {
+        return submittedAt;
+    }
+
+    /** Returns the start time in ms since the epoch or 0 if not started. */
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    /** Returns the finish time in ms since the epoch or 0 if not finished. */
+    public long getFinishedAt() {
+        return finishedAt;
+    }
+
+    /** Returns the run time so far in ms, or the total run time if done. */
+    public synchronized long getDurationMs() {
+        if (startedAt == 0) {
+            return 0;
+        }
+        return (finishedAt == 0 ? System.currentTimeMillis() : finishedAt) - startedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,171 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.integration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import com.deutschebahn.capella.ServerConfig;
+
+/**
+ * Feed of changes of the projects in the workspace and of the open editors.
+ *
+ * Project changes are taken from resource deltas, editor and dirty state
+ * changes are published by the {@link EditorIndex}. The most recent events
+ * are kept in a ring buffer, so that a client can resume after the sequence
+ * number of the last event it has seen.
+ */
+public class ChangeFeed implements IResourceChangeListener {
+    public static final ChangeFeed INSTANCE = new ChangeFeed();
+
+    public enum Type {
+        PROJECT_ADDED, PROJECT_REMOVED, PROJECT_OPENED, PROJECT_CLOSED, PROJECT_DIRTY, PROJECT_CLEAN,
+        EDITOR_OPENED, EDITOR_CLOSED;
+
+        public String toValue() {
+            return name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+    }
+
+    public static class Event {
+        private final long sequence;
+        private final Type type;
+        private final String projectName;
+        private final String editorName;
+        private final long timestamp = System.currentTimeMillis();
+
+        Event(long sequence, Type type, String projectName, String editorName) {
+            this.sequence = sequence;
+            this.type = type;
+            this.projectName = projectName;
+            this.editorName = editorName;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        public String getProjectName() {
+            return projectName;
+        }
+
+        /**
+         * Returns the name of the editor for editor events, otherwise
+         * {@code null}.
+         */
+        public String getEditorName() {
+            return editorName;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+    }
+
+    private final Event[] buffer = new Event[Math.max(1, ServerConfig.getInt("events.buffer", 1000))];
+    private final Map<String, Long> lastProjectSequences = new ConcurrentHashMap<>();
+    private long lastSequence;
+
+    private ChangeFeed() {
+    }
+
+    /**
+     * Registers the resource change listener. Events that happen before are
+     * not recorded.
+     */
+    public void install() {
+        ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+    }
+
+    public synchronized void publish(Type type, String projectName, String editorName) {
+        lastSequence++;
+        buffer[(int) (lastSequence % buffer.length)] = new Event(lastSequence, type, projectName, editorName);
+        if (projectName != null) {
+            lastProjectSequences.put(projectName, lastSequence);
+        }
+        notifyAll();
+    }
+
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Returns the sequence number of the last event of the project, or 0 if
+     * there has been none since the feed was installed.
+     */
+    public long getLastSequence(String projectName) {
+        return lastProjectSequences.getOrDefault(projectName, 0L);
+    }
+
+    /**
+     * Returns the sequence number of the oldest event still in the buffer.
+     * Clients that missed older events have to fetch the current state again.
+     */
+    public synchronized long getOldestSequence() {
+        return Math.max(1, lastSequence - buffer.length + 1);
+    }
+
+    /**
+     * Returns the buffered events after the given sequence number, waiting
+     * for at most the given time if there are none yet.
+     */
+    public synchronized List<Event> awaitEventsAfter(long sequence, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (lastSequence <= sequence) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return Collections.emptyList();
+            }
+            wait(remaining);
+        }
+        long first = Math.max(sequence + 1, getOldestSequence());
+        List<Event> events = new ArrayList<>((int) (lastSequence - first + 1));
+        for (long s = first; s <= lastSequence; s++) {
+            events.add(buffer[(int) (s % buffer.length)]);
+        }
+        return events;
+    }
+
+    @Override
+    public void resourceChanged(IResourceChangeEvent event) {
+        IResourceDelta delta = event.getDelta();
+        if (delta == null) {
+            return;
+        }
+        for (IResourceDelta projectDelta : delta.getAffectedChildren()) {
+            String projectName = projectDelta.getResource().getName();
+            switch (projectDelta.getKind()) {
+            case IResourceDelta.ADDED:
+                publish(Type.PROJECT_ADDED, projectName, null);
+                break;
+            case IResourceDelta.REMOVED:
+                publish(Type.PROJECT_REMOVED, projectName, null);
+                break;
+            case IResourceDelta.CHANGED:
+                if ((projectDelta.getFlags() & IResourceDelta.OPEN) != 0) {
+                    boolean open = ((IProject) projectDelta.getResource()).isOpen();
+                    publish(open ? Type.PROJECT_OPENED : Type.PROJECT_CLOSED, projectName, null);
+                }
+                break;
+            default:
+                break;
+            }
+        }
+    }
+}
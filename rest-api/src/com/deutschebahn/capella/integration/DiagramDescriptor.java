@@ -0,0 +1,25 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.integration;
+
+/**
+ * UID and name of a representation descriptor, detached from the model.
+ */
+public class DiagramDescriptor {
+    private final String uid;
+    private final String name;
+
+    public DiagramDescriptor(String uid, String name) {
+        this.uid = uid;
+        this.name = name;
+    }
+
+    public String getUid() {
+        return uid;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,46 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.integration;
+
+import java.io.File;
+
+/**
+ * An image of a diagram in one format, rendered only when its file is
+ * requested.
+ */
+public class DiagramImage {
+    @FunctionalInterface
+    public interface Renderer {
+        File render() throws Exception;
+    }
+
+    private final String key;
+    private final String mediaType;
+    private final Renderer renderer;
+
+    public DiagramImage(String key, String mediaType, Renderer renderer) {
+        this.key = key;
+        this.mediaType = mediaType;
+        this.renderer = renderer;
+    }
+
+    /**
+     * Returns a key that changes with every modification of the diagram,
+     * which may be used as entity tag.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Returns the image file, rendering it if necessary.
+     */
+    public File getFile() throws Exception {
+        return renderer.render();
+    }
+}
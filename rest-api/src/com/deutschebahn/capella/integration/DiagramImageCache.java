@@ -0,0 +1,305 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.integration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.sirius.business.api.session.Session;
+import org.eclipse.sirius.business.api.session.SessionStatus;
+import org.eclipse.sirius.common.tools.api.resource.ImageFileFormat;
+import org.eclipse.sirius.ui.business.api.dialect.DialectUIManager;
+import org.eclipse.sirius.ui.business.api.dialect.ExportFormat;
+import org.eclipse.sirius.viewpoint.DRepresentation;
+import org.eclipse.sirius.viewpoint.DRepresentationDescriptor;
+import org.osgi.framework.FrameworkUtil;
+
+import com.deutschebahn.capella.Main;
+import com.deutschebahn.capella.ServerConfig;
+import com.deutschebahn.capella.metrics.MetricsRegistry;
+
+/**
+ * Renders diagrams to image files and keeps them in a size-bounded cache in
+ * the state location of the plug-in.
+ *
+ * Images are keyed by the UID of the representation descriptor, its change
+ * id, which Sirius updates whenever the representation is modified, the
+ * state of the semantic model shown by it and the image format. Only
+ * diagrams whose representation or model changed are therefore rendered
+ * again. When the
+ * cache grows beyond its maximum size, the least recently used images are
+ * deleted.
+ */
+public class DiagramImageCache {
+    public static final DiagramImageCache INSTANCE = new DiagramImageCache();
+
+    public enum Format {
+        SVG(ImageFileFormat.SVG, "image/svg+xml"), PNG(ImageFileFormat.PNG, "image/png");
+
+        private final ImageFileFormat imageFileFormat;
+        private final String mediaType;
+
+        Format(ImageFileFormat imageFileFormat, String mediaType) {
+            this.imageFileFormat = imageFileFormat;
+            this.mediaType = mediaType;
+        }
+
+        public String getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        /**
+         * Returns the format with the given name, ignoring case, or
+         * {@code null}.
+         */
+        public static Format fromValue(String value) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final String TEMPORARY_PREFIX = "tmp-";
+    /**
+     * Time after its last use during which an image is not deleted, as the
+     * response returning it only opens the file once it is written.
+     */
+    private static final long EVICTION_GRACE_MILLIS = 10000;
+
+    private final File directory;
+    private final long maxSize = ServerConfig.getInt("image-cache.max-size", 256) * 1024L * 1024L;
+    private final long renderTimeoutMillis = ServerConfig.getInt("image.timeout", 120000);
+    private final AtomicLong size = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final Map<String, CompletableFuture<File>> rendering = new ConcurrentHashMap<>();
+
+    private DiagramImageCache() {
+        directory = Platform.getStateLocation(FrameworkUtil.getBundle(DiagramImageCache.class))
+                .append("diagram-images").toFile();
+        directory.mkdirs();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.getName().startsWith(TEMPORARY_PREFIX)) {
+                    file.delete();
+                } else {
+                    size.addAndGet(file.length());
+                }
+            }
+        }
+        MetricsRegistry.INSTANCE.gauge("capella_diagram_image_cache_bytes", "Size of the cached diagram images",
+                this::getSize);
+        MetricsRegistry.INSTANCE.counter("capella_diagram_image_cache_hits_total",
+                "Number of diagram images served from the cache", this::getHits);
+        MetricsRegistry.INSTANCE.counter("capella_diagram_image_cache_misses_total",
+                "Number of diagram images rendered", this::getMisses);
+    }
+
+    private static String hash(String value) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        StringBuilder hash = new StringBuilder();
+        for (byte b : digest.digest(value.getBytes(StandardCharsets.UTF_8))) {
+            hash.append(String.format("%02x", b));
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Returns the modification time of the file containing the resource, or
+     * an empty string if it is not stored in a file.
+     */
+    private static String getTimeStamp(Resource resource) {
+        if (resource == null) {
+            return "";
+        }
+        URI uri = resource.getURI();
+        if (uri.isFile()) {
+            return Long.toString(new File(uri.toFileString()).lastModified());
+        }
+        if (uri.isPlatformResource()) {
+            IFile file = ResourcesPlugin.getWorkspace().getRoot().getFile(new Path(uri.toPlatformString(true)));
+            return Long.toString(file.getLocalTimeStamp());
+        }
+        return "";
+    }
+
+    /**
+     * Returns the stamp of the current state of the representation. Falls
+     * back to the modification time of the file containing the descriptor if
+     * there is no change id.
+     */
+    private static String getModificationStamp(DRepresentationDescriptor descriptor) {
+        String changeId = descriptor.getChangeId();
+        return changeId != null ? changeId : getTimeStamp(descriptor.eResource());
+    }
+
+    /**
+     * Returns the stamp of the current state of the semantic model, which the
+     * representation shows but whose changes do not update its change id:
+     * the modification times of the semantic resources and, while the
+     * session has unsaved changes, its version.
+     */
+    private static String getModificationStamp(Session session) {
+        StringBuilder stamp = new StringBuilder();
+        for (Resource resource : session.getSemanticResources()) {
+            stamp.append(getTimeStamp(resource)).append(',');
+        }
+        if (session.getStatus() == SessionStatus.DIRTY) {
+            stamp.append(SessionCache.INSTANCE.getVersion(session));
+        }
+        return stamp.toString();
+    }
+
+    /**
+     * Returns the key of the current rendering of the representation, which
+     * may be used as entity tag.
+     */
+    public String getKey(Session session, DRepresentationDescriptor descriptor, Format format) {
+        return hash(descriptor.getUid() + "/" + getModificationStamp(descriptor) + "/"
+                + getModificationStamp(session) + "/" + format.name());
+    }
+
+    /**
+     * Returns the image file of the representation in the given format,
+     * rendering it on the UI thread if it is not cached. Concurrent requests
+     * for the same image wait for a single rendering.
+     */
+    public File getImage(Session session, DRepresentationDescriptor descriptor, Format format) throws Exception {
+        String key = getKey(session, descriptor, format);
+        File file = new File(directory, key + "." + format.getExtension());
+        if (file.isFile()) {
+            hits.incrementAndGet();
+            // Used for the least recently used eviction
+            file.setLastModified(System.currentTimeMillis());
+            return file;
+        }
+        CompletableFuture<File> future = new CompletableFuture<>();
+        CompletableFuture<File> existing = rendering.putIfAbsent(key, future);
+        if (existing != null) {
+            try {
+                return existing.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof Exception ? (Exception) cause : e;
+            }
+        }
+        misses.incrementAndGet();
+        try {
+            render(session, descriptor, format, file);
+            future.complete(file);
+            return file;
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            rendering.remove(key, future);
+        }
+    }
+
+    private void render(Session session, DRepresentationDescriptor descriptor, Format format, File file)
+            throws Exception {
+        File temporaryFile = new File(directory, TEMPORARY_PREFIX + UUID.randomUUID() + "." + format.getExtension());
+        try {
+            UiDispatcher.INSTANCE.call(() -> {
+                DRepresentation representation = descriptor.getRepresentation();
+                if (representation == null) {
+                    throw new IllegalStateException("Diagram '" + descriptor.getName() + "' cannot be loaded");
+                }
+                DialectUIManager.INSTANCE.export(representation, session, new Path(temporaryFile.getAbsolutePath()),
+                        new ExportFormat(ExportFormat.ExportDocumentFormat.NONE, format.imageFileFormat),
+                        new NullProgressMonitor());
+                return null;
+            }, renderTimeoutMillis);
+            if (!temporaryFile.isFile()) {
+                throw new IOException("Diagram '" + descriptor.getName() + "' was not rendered");
+            }
+            Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            temporaryFile.delete();
+        }
+        if (size.addAndGet(file.length()) > maxSize) {
+            evict();
+        }
+    }
+
+    /**
+     * Deletes the least recently used images until the cache is below 90% of
+     * its maximum size. Images used within the grace period are kept even if
+     * the cache stays above that size.
+     */
+    private synchronized void evict() {
+        File[] files = directory.listFiles(file -> !file.getName().startsWith(TEMPORARY_PREFIX));
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        long total = 0;
+        for (File file : files) {
+            total += file.length();
+        }
+        long target = maxSize / 10 * 9;
+        long usedSince = System.currentTimeMillis() - EVICTION_GRACE_MILLIS;
+        for (File file : files) {
+            // Files are sorted by last use, all following ones are recent as well
+            if (total <= target || file.lastModified() > usedSince) {
+                break;
+            }
+            long length = file.length();
+            if (file.delete()) {
+                total -= length;
+            } else {
+                Main.log(IStatus.WARNING, "Cannot delete cached diagram image '" + file + "'.", null);
+            }
+        }
+        size.set(total);
+    }
+
+    public long getSize() {
+        return size.get();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+}
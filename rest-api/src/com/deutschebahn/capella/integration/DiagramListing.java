@@ -0,0 +1,43 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.integration;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The diagrams of a project from one source, e.g. its open session or its
+ * .aird file. The version is available up front, so that a listing that has
+ * not changed need not be read.
+ */
+public class DiagramListing {
+    @FunctionalInterface
+    public interface Reader {
+        List<DiagramDescriptor> read() throws IOException;
+    }
+
+    private final String version;
+    private final Reader reader;
+
+    public DiagramListing(String version, Reader reader) {
+        this.version = version;
+        this.reader = reader;
+    }
+
+    /**
+     * Returns a token that changes whenever the diagrams change.
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the diagrams in a stable order.
+     *
+     * @throws IOException if the source cannot be read
+     */
+    public List<DiagramDescriptor> read() throws IOException {
+        return reader.read();
+    }
+}
@@ -0,0 +1,306 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.integration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.sirius.ui.business.api.session.SessionEditorInput;
+import org.eclipse.ui.IEditorInput;
+import org.eclipse.ui.IEditorPart;
+import org.eclipse.ui.IEditorReference;
+import org.eclipse.ui.IFileEditorInput;
+import org.eclipse.ui.IPageListener;
+import org.eclipse.ui.IPartListener2;
+import org.eclipse.ui.IPropertyListener;
+import org.eclipse.ui.IWindowListener;
+import org.eclipse.ui.IWorkbench;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.IWorkbenchPartReference;
+import org.eclipse.ui.IWorkbenchWindow;
+import org.eclipse.ui.PartInitException;
+import org.eclipse.ui.PlatformUI;
+
+/**
+ * Index of the open editors in the workbench by project name.
+ *
+ * The index is maintained on the UI thread by window, page, part and
+ * property listeners and can be queried from any thread. It replaces walking
+ * all windows, pages and editor references for each request. Changes are
+ * published to the {@link ChangeFeed}.
+ */
+public class EditorIndex implements IWindowListener, IPageListener, IPartListener2 {
+    public static final EditorIndex INSTANCE = new EditorIndex();
+
+    private static class Entry {
+        final IEditorReference reference;
+        final IEditorInput input;
+        final String projectName;
+        final IPropertyListener dirtyListener;
+
+        Entry(IEditorReference reference, IEditorInput input, String projectName,
+                IPropertyListener dirtyListener) {
+            this.reference = reference;
+            this.input = input;
+            this.projectName = projectName;
+            this.dirtyListener = dirtyListener;
+        }
+    }
+
+    private final Map<IEditorReference, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Set<Entry>> editorsByProject = new ConcurrentHashMap<>();
+    private final Map<String, Set<Entry>> dirtyEditorsByProject = new ConcurrentHashMap<>();
+
+    private EditorIndex() {
+    }
+
+    /**
+     * Registers the listeners and indexes the editors that are already open.
+     * May be called from any thread.
+     */
+    public void install() {
+        IWorkbench workbench = PlatformUI.getWorkbench();
+        UiDispatcher.INSTANCE.execute(() -> {
+            workbench.addWindowListener(this);
+            for (IWorkbenchWindow window : workbench.getWorkbenchWindows()) {
+                hookWindow(window);
+            }
+        });
+    }
+
+    private void hookWindow(IWorkbenchWindow window) {
+        window.addPageListener(this);
+        for (IWorkbenchPage page : window.getPages()) {
+            hookPage(page);
+        }
+    }
+
+    private void hookPage(IWorkbenchPage page) {
+        page.addPartListener(this);
+        for (IEditorReference reference : page.getEditorReferences()) {
+            add(reference);
+        }
+    }
+
+    private static String getProjectName(IEditorInput input) {
+        if (input instanceof SessionEditorInput) {
+            URI uri = ((SessionEditorInput) input).getURI();
+            if (uri == null || !uri.isPlatformResource()) {
+                return null;
+            }
+            IPath path = new Path(uri.toPlatformString(true));
+            return path.segmentCount() > 0 ? path.segment(0) : null;
+        }
+        if (input instanceof IFileEditorInput) {
+            return ((IFileEditorInput) input).getFile().getProject().getName();
+        }
+        return null;
+    }
+
+    private static Set<Entry> newEntrySet() {
+        return ConcurrentHashMap.newKeySet();
+    }
+
+    private void add(IEditorReference reference) {
+        if (entries.containsKey(reference)) {
+            return;
+        }
+        IEditorInput input;
+        try {
+            input = reference.getEditorInput();
+        } catch (PartInitException e) {
+            return;
+        }
+        String projectName = getProjectName(input);
+        if (projectName == null) {
+            return;
+        }
+        IPropertyListener dirtyListener = (source, propId) -> {
+            if (propId == IEditorPart.PROP_DIRTY) {
+                updateDirtyState(reference);
+            }
+        };
+        Entry entry = new Entry(reference, input, projectName, dirtyListener);
+        entries.put(reference, entry);
+        editorsByProject.computeIfAbsent(projectName, k -> newEntrySet()).add(entry);
+        reference.addPropertyListener(dirtyListener);
+        ChangeFeed.INSTANCE.publish(ChangeFeed.Type.EDITOR_OPENED, projectName, input.getName());
+        updateDirtyState(reference);
+    }
+
+    private void remove(IEditorReference reference) {
+        Entry entry = entries.remove(reference);
+        if (entry == null) {
+            return;
+        }
+        reference.removePropertyListener(entry.dirtyListener);
+        removeFrom(editorsByProject, entry);
+        removeDirty(entry);
+        ChangeFeed.INSTANCE.publish(ChangeFeed.Type.EDITOR_CLOSED, entry.projectName, entry.input.getName());
+    }
+
+    private static void removeFrom(Map<String, Set<Entry>> map, Entry entry) {
+        map.computeIfPresent(entry.projectName, (k, set) -> {
+            set.remove(entry);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private void updateDirtyState(IEditorReference reference) {
+        Entry entry = entries.get(reference);
+        if (entry == null) {
+            return;
+        }
+        if (reference.isDirty()) {
+            boolean wasDirty = dirtyEditorsByProject.containsKey(entry.projectName);
+            dirtyEditorsByProject.computeIfAbsent(entry.projectName, k -> newEntrySet()).add(entry);
+            if (!wasDirty) {
+                ChangeFeed.INSTANCE.publish(ChangeFeed.Type.PROJECT_DIRTY, entry.projectName, null);
+            }
+        } else {
+            removeDirty(entry);
+        }
+    }
+
+    private void removeDirty(Entry entry) {
+        if (!dirtyEditorsByProject.containsKey(entry.projectName)) {
+            return;
+        }
+        removeFrom(dirtyEditorsByProject, entry);
+        if (!dirtyEditorsByProject.containsKey(entry.projectName)) {
+            ChangeFeed.INSTANCE.publish(ChangeFeed.Type.PROJECT_CLEAN, entry.projectName, null);
+        }
+    }
+
+    /**
+     * Returns the inputs of the open Sirius editors of the project.
+     */
+    public List<SessionEditorInput> getSessionEditorInputs(String projectName) {
+        Set<Entry> set = editorsByProject.get(projectName);
+        if (set == null) {
+            return Collections.emptyList();
+        }
+        List<SessionEditorInput> inputs = new ArrayList<>(set.size());
+        for (Entry entry : set) {
+            if (entry.input instanceof SessionEditorInput) {
+                inputs.add((SessionEditorInput) entry.input);
+            }
+        }
+        return inputs;
+    }
+
+    /**
+     * Returns the references of the editors of the project with unsaved
+     * changes.
+     */
+    public List<IEditorReference> getDirtyEditors(String projectName) {
+        Set<Entry> set = dirtyEditorsByProject.get(projectName);
+        if (set == null) {
+            return Collections.emptyList();
+        }
+        List<IEditorReference> references = new ArrayList<>(set.size());
+        for (Entry entry : set) {
+            references.add(entry.reference);
+        }
+        return references;
+    }
+
+    public boolean isDirty(String projectName) {
+        return dirtyEditorsByProject.containsKey(projectName);
+    }
+
+    /**
+     * Returns a snapshot of the names of all projects with unsaved changes.
+     */
+    public Set<String> getDirtyProjectNames() {
+        return new HashSet<>(dirtyEditorsByProject.keySet());
+    }
+
+    @Override
+    public void windowOpened(IWorkbenchWindow window) {
+        hookWindow(window);
+    }
+
+    @Override
+    public void windowActivated(IWorkbenchWindow window) {
+    }
+
+    @Override
+    public void windowDeactivated(IWorkbenchWindow window) {
+    }
+
+    @Override
+    public void windowClosed(IWorkbenchWindow window) {
+        window.removePageListener(this);
+    }
+
+    @Override
+    public void pageOpened(IWorkbenchPage page) {
+        hookPage(page);
+    }
+
+    @Override
+    public void pageActivated(IWorkbenchPage page) {
+    }
+
+    @Override
+    public void pageClosed(IWorkbenchPage page) {
+        page.removePartListener(this);
+        for (IEditorReference reference : new ArrayList<>(entries.keySet())) {
+            if (reference.getPage() == page) {
+                remove(reference);
+            }
+        }
+    }
+
+    @Override
+    public void partOpened(IWorkbenchPartReference partRef) {
+        if (partRef instanceof IEditorReference) {
+            add((IEditorReference) partRef);
+        }
+    }
+
+    @Override
+    public void partClosed(IWorkbenchPartReference partRef) {
+        if (partRef instanceof IEditorReference) {
+            remove((IEditorReference) partRef);
+        }
+    }
+
+    @Override
+    public void partInputChanged(IWorkbenchPartReference partRef) {
+        if (partRef instanceof IEditorReference) {
+            remove((IEditorReference) partRef);
+            add((IEditorReference) partRef);
+        }
+    }
+
+    @Override
+    public void partActivated(IWorkbenchPartReference partRef) {
+    }
+
+    @Override
+    public void partBroughtToTop(IWorkbenchPartReference partRef) {
+    }
+
+    @Override
+    public void partDeactivated(IWorkbenchPartReference partRef) {
+    }
+
+    @Override
+    public void partHidden(IWorkbenchPartReference partRef) {
+    }
+
+    @Override
+    public void partVisible(IWorkbenchPartReference partRef) {
+    }
+}
@@ -0,0 +1,412 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.integration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.transaction.NotificationFilter;
+import org.eclipse.emf.transaction.ResourceSetChangeEvent;
+import org.eclipse.emf.transaction.ResourceSetListenerImpl;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.sirius.business.api.session.Session;
+import org.eclipse.sirius.business.api.session.SessionListener;
+
+import com.deutschebahn.capella.metrics.Histogram;
+import com.deutschebahn.capella.metrics.MetricsRegistry;
+
+/**
+ * Index of the semantic elements of a Sirius session by id, metaclass and
+ * name.
+ *
+ * The index of a session is built on first use and then kept up to date by a
+ * resource set listener on the editing domain of the session, which
+ * (un)indexes added and removed containment subtrees and renamed elements
+ * after each committed transaction. It is dropped when the session is closed.
+ */
+public class ElementIndex {
+    private static final Map<Session, CompletableFuture<ElementIndex>> INDEXES = new ConcurrentHashMap<>();
+    private static final String NAME = "name";
+
+    private static final Histogram BUILD_DURATION = MetricsRegistry.INSTANCE.histogram(
+            "capella_element_index_build_seconds", "Time to build the element index of a session in seconds");
+
+    static {
+        MetricsRegistry.INSTANCE.gauge("capella_element_indexes", "Number of sessions with an element index",
+                INDEXES::size);
+    }
+
+    /**
+     * The result of a query: the total number of matches and the requested
+     * page of them.
+     */
+    public static class Page {
+        private final int total;
+        private final List<EObject> elements;
+
+        Page(int total, List<EObject> elements) {
+            this.total = total;
+            this.elements = elements;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public List<EObject> getElements() {
+            return elements;
+        }
+    }
+
+    private final Session session;
+    private final CompletableFuture<ElementIndex> future;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, EObject> byId = new LinkedHashMap<>();
+    private final Map<String, Set<EObject>> byMetaclass = new HashMap<>();
+    private final TreeMap<String, Set<EObject>> byName = new TreeMap<>();
+    private final Map<EObject, String> indexedNames = new HashMap<>();
+    private final Map<EObject, String> indexedIds = new HashMap<>();
+    private final Listener listener = new Listener();
+    private final SessionListener sessionListener = this::sessionChanged;
+
+    private class Listener extends ResourceSetListenerImpl {
+        Listener() {
+            super(NotificationFilter.NOT_TOUCH);
+        }
+
+        @Override
+        public boolean isPostcommitOnly() {
+            return true;
+        }
+
+        @Override
+        public void resourceSetChanged(ResourceSetChangeEvent event) {
+            lock.writeLock().lock();
+            try {
+                for (Notification notification : event.getNotifications()) {
+                    update(notification);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private ElementIndex(Session session, CompletableFuture<ElementIndex> future) {
+        this.session = session;
+        this.future = future;
+    }
+
+    /**
+     * Returns the index of the session, building it if necessary. Requests
+     * for the same session wait for a single build, requests for other
+     * sessions are not held up by it.
+     */
+    public static ElementIndex get(Session session) throws InterruptedException {
+        while (true) {
+            CompletableFuture<ElementIndex> created = new CompletableFuture<>();
+            CompletableFuture<ElementIndex> future = INDEXES.putIfAbsent(session, created);
+            if (future == null) {
+                ElementIndex index = new ElementIndex(session, created);
+                try {
+                    index.build();
+                } catch (InterruptedException | RuntimeException e) {
+                    INDEXES.remove(session, created);
+                    created.completeExceptionally(e);
+                    throw e;
+                }
+                created.complete(index);
+                return index;
+            }
+            try {
+                return future.get();
+            } catch (ExecutionException e) {
+                // The build of another request failed, try again
+            }
+        }
+    }
+
+    private void build() throws InterruptedException {
+        long start = System.nanoTime();
+        TransactionalEditingDomain domain = session.getTransactionalEditingDomain();
+        try {
+            // No transaction can modify the model until the listener is in place
+            domain.runExclusive(() -> {
+                domain.addResourceSetListener(listener);
+                for (Resource resource : session.getSemanticResources()) {
+                    for (EObject root : resource.getContents()) {
+                        indexTree(root);
+                    }
+                }
+            });
+        } catch (InterruptedException | RuntimeException e) {
+            domain.removeResourceSetListener(listener);
+            throw e;
+        }
+        session.addListener(sessionListener);
+        BUILD_DURATION.observeNanos(System.nanoTime() - start);
+    }
+
+    private void sessionChanged(int changeKind) {
+        if (changeKind == SessionListener.CLOSING) {
+            INDEXES.remove(session, future);
+            session.removeListener(sessionListener);
+            TransactionalEditingDomain domain = session.getTransactionalEditingDomain();
+            if (domain != null) {
+                domain.removeResourceSetListener(listener);
+            }
+        }
+    }
+
+    private boolean isSemantic(EObject eObject) {
+        Resource resource = eObject.eResource();
+        return resource != null && session.getSemanticResources().contains(resource);
+    }
+
+    private static String getName(EObject eObject) {
+        EStructuralFeature feature = eObject.eClass().getEStructuralFeature(NAME);
+        if (feature instanceof EAttribute && feature.getEType().getInstanceClass() == String.class) {
+            return (String) eObject.eGet(feature);
+        }
+        return null;
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static <K> void add(Map<K, Set<EObject>> map, K key, EObject eObject) {
+        map.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(eObject);
+    }
+
+    private static <K> void remove(Map<K, Set<EObject>> map, K key, EObject eObject) {
+        Set<EObject> set = map.get(key);
+        if (set != null && set.remove(eObject) && set.isEmpty()) {
+            map.remove(key);
+        }
+    }
+
+    private void index(EObject eObject) {
+        String id = EcoreUtil.getID(eObject);
+        if (id == null) {
+            return;
+        }
+        byId.put(id, eObject);
+        indexedIds.put(eObject, id);
+        add(byMetaclass, eObject.eClass().getName(), eObject);
+        indexName(eObject);
+    }
+
+    private void indexName(EObject eObject) {
+        String name = getName(eObject);
+        if (name != null) {
+            add(byName, normalize(name), eObject);
+            indexedNames.put(eObject, name);
+        }
+    }
+
+    private void unindex(EObject eObject) {
+        String id = indexedIds.remove(eObject);
+        if (id == null) {
+            return;
+        }
+        byId.remove(id, eObject);
+        remove(byMetaclass, eObject.eClass().getName(), eObject);
+        unindexName(eObject);
+    }
+
+    private void unindexName(EObject eObject) {
+        String name = indexedNames.remove(eObject);
+        if (name != null) {
+            remove(byName, normalize(name), eObject);
+        }
+    }
+
+    private void indexTree(EObject root) {
+        index(root);
+        for (Iterator<EObject> it = root.eAllContents(); it.hasNext();) {
+            index(it.next());
+        }
+    }
+
+    private void unindexTree(EObject root) {
+        unindex(root);
+        for (Iterator<EObject> it = root.eAllContents(); it.hasNext();) {
+            unindex(it.next());
+        }
+    }
+
+    private static Collection<?> getValues(Object value) {
+        if (value instanceof Collection) {
+            return (Collection<?>) value;
+        }
+        return value == null ? Collections.emptyList() : Collections.singletonList(value);
+    }
+
+    private void update(Notification notification) {
+        Object notifier = notification.getNotifier();
+        Object feature = notification.getFeature();
+        boolean contents;
+        if (notifier instanceof Resource) {
+            contents = notification.getFeatureID(Resource.class) == Resource.RESOURCE__CONTENTS
+                    && session.getSemanticResources().contains(notifier);
+        } else if (notifier instanceof EObject && isSemantic((EObject) notifier)) {
+            contents = feature instanceof EReference && ((EReference) feature).isContainment();
+            if (feature instanceof EAttribute) {
+                EObject eObject = (EObject) notifier;
+                if (((EAttribute) feature).isID()) {
+                    unindex(eObject);
+                    index(eObject);
+                } else if (NAME.equals(((EAttribute) feature).getName()) && indexedIds.containsKey(eObject)) {
+                    unindexName(eObject);
+                    indexName(eObject);
+                }
+            }
+        } else {
+            contents = false;
+        }
+        if (!contents) {
+            return;
+        }
+        switch (notification.getEventType()) {
+        case Notification.SET:
+        case Notification.UNSET:
+        case Notification.ADD:
+        case Notification.ADD_MANY:
+        case Notification.REMOVE:
+        case Notification.REMOVE_MANY:
+            for (Object oldValue : getValues(notification.getOldValue())) {
+                // REMOVE_MANY may carry positions in the new value
+                if (oldValue instanceof EObject) {
+                    unindexTree((EObject) oldValue);
+                }
+            }
+            for (Object newValue : getValues(notification.getNewValue())) {
+                if (newValue instanceof EObject && ((EObject) newValue).eResource() != null) {
+                    indexTree((EObject) newValue);
+                }
+            }
+            break;
+        default:
+            break;
+        }
+    }
+
+    private static Page page(Collection<EObject> matches, int offset, int limit) {
+        List<EObject> elements = new ArrayList<>(Math.min(limit, Math.max(0, matches.size() - offset)));
+        int position = 0;
+        for (EObject eObject : matches) {
+            if (position >= offset + limit) {
+                break;
+            }
+            if (position >= offset) {
+                elements.add(eObject);
+            }
+            position++;
+        }
+        return new Page(matches.size(), elements);
+    }
+
+    /**
+     * Returns the elements matching all given criteria, criteria that are
+     * {@code null} are ignored. Names are matched case-insensitively by
+     * prefix.
+     */
+    public Page query(String id, String metaclass, String namePrefix, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            Collection<EObject> candidates;
+            if (id != null) {
+                EObject eObject = byId.get(id);
+                candidates = eObject == null ? Collections.emptyList() : Collections.singletonList(eObject);
+            } else if (namePrefix != null) {
+                String prefix = normalize(namePrefix);
+                SortedMap<String, Set<EObject>> names = byName.subMap(prefix, prefix + Character.MAX_VALUE);
+                candidates = new ArrayList<>();
+                for (Set<EObject> set : names.values()) {
+                    candidates.addAll(set);
+                }
+            } else if (metaclass != null) {
+                candidates = byMetaclass.getOrDefault(metaclass, Collections.emptySet());
+            } else {
+                candidates = byId.values();
+            }
+            boolean filterMetaclass = metaclass != null && (id != null || namePrefix != null);
+            boolean filterName = namePrefix != null && id != null;
+            if (filterMetaclass || filterName) {
+                List<EObject> matches = new ArrayList<>();
+                for (EObject eObject : candidates) {
+                    if (filterMetaclass && !metaclass.equals(eObject.eClass().getName())) {
+                        continue;
+                    }
+                    String name = indexedNames.get(eObject);
+                    if (filterName && (name == null || !normalize(name).startsWith(normalize(namePrefix)))) {
+                        continue;
+                    }
+                    matches.add(eObject);
+                }
+                candidates = matches;
+            }
+            return page(candidates, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getSize() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the id under which the element is indexed.
+     */
+    public String getId(EObject eObject) {
+        lock.readLock().lock();
+        try {
+            return indexedIds.get(eObject);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the name under which the element is indexed.
+     */
+    public String getName(EObject eObject) {
+        lock.readLock().lock();
+        try {
+            return indexedNames.get(eObject);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
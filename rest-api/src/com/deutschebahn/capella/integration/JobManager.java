@@ -0,0 +1,118 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.integration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.core.runtime.IStatus;
+
+import com.deutschebahn.capella.Main;
+import com.deutschebahn.capella.ServerConfig;
+
+/**
+ * Runs operations on the UI thread, through the {@link UiDispatcher}, after
+ * the submitting request has been answered and keeps track of their state.
+ *
+ * Jobs are started one after another by a background thread, which holds a
+ * shared lock of the project while the job runs on the UI thread, so that a
+ * job never overlaps with closing or deleting its project.
+ *
+ * A job that is submitted while a job with the same operation for the same
+ * project is still queued is coalesced into the queued one, so that e.g.
+ * repeated save requests result in a single pass on the UI thread.
+ */
+public class JobManager {
+    public static final JobManager INSTANCE = new JobManager();
+
+    @FunctionalInterface
+    public interface Work {
+        void run() throws Exception;
+    }
+
+    private final Map<String, AsyncJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, AsyncJob> queuedJobs = new ConcurrentHashMap<>();
+    private final Queue<AsyncJob> finishedJobs = new ConcurrentLinkedQueue<>();
+    private final int retainedJobs = ServerConfig.getInt("jobs.retained", 1000);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "capella-jobs");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private JobManager() {
+    }
+
+    private static String getCoalescingKey(String operation, String projectName) {
+        return operation + "/" + projectName;
+    }
+
+    /**
+     * Submits work to be run on the UI thread and returns the job tracking
+     * it. If a job for the same operation and project is still queued, that
+     * job is returned instead and the work is not submitted again.
+     */
+    public AsyncJob submit(String operation, String projectName, Work work) {
+        String key = getCoalescingKey(operation, projectName);
+        AsyncJob[] created = new AsyncJob[1];
+        AsyncJob job = queuedJobs.computeIfAbsent(key, k -> {
+            created[0] = new AsyncJob(operation, projectName);
+            return created[0];
+        });
+        if (created[0] == null) {
+            return job;
+        }
+        jobs.put(job.getId(), job);
+        executor.execute(() -> run(key, job, work));
+        return job;
+    }
+
+    private void run(String key, AsyncJob job, Work work) {
+        // Requests arriving from now on need another pass
+        queuedJobs.remove(key, job);
+        job.start();
+        Throwable failure = null;
+        // Locks must not be taken on the UI thread, so the job is waited for here
+        try {
+            ProjectLocks.Held lock = ProjectLocks.INSTANCE.read(job.getProjectName());
+            try {
+                UiDispatcher.INSTANCE.call(() -> {
+                    work.run();
+                    return null;
+                }, Long.MAX_VALUE);
+            } finally {
+                lock.close();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = e;
+        } catch (Exception e) {
+            failure = e;
+            Main.log(IStatus.ERROR, "Job " + job.getId() + " (" + job.getOperation() + " of project '"
+                    + job.getProjectName() + "') failed.", e);
+        }
+        job.finish(failure);
+        finishedJobs.add(job);
+        while (finishedJobs.size() > retainedJobs) {
+            AsyncJob oldest = finishedJobs.poll();
+            if (oldest != null) {
+                jobs.remove(oldest.getId());
+            }
+        }
+    }
+
+    public AsyncJob getJob(String id) {
+        return jobs.get(id);
+    }
+
+    public List<AsyncJob> getJobs() {
+        return new ArrayList<>(jobs.values());
+    }
+}
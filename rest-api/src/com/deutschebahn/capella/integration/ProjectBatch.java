@@ -0,0 +1,329 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.integration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+
+import com.deutschebahn.capella.Main;
+import com.deutschebahn.capella.ServerConfig;
+
+/**
+ * Runs a sequence of lifecycle operations on projects.
+ *
+ * The operations are run in order, split into segments of consecutive
+ * operations of the same kind: opening, closing and deleting projects are run
+ * in a single workspace operation with the workspace root as scheduling rule,
+ * saving is run in a single pass on the UI thread. The workspace rule is
+ * never held while waiting for the UI thread, because saving an editor may
+ * itself need the workspace. The projects of a workspace segment are locked
+ * exclusively in the {@link ProjectLocks} for its duration, those of a save
+ * segment shared, like by save jobs.
+ */
+public final class ProjectBatch {
+    public enum Kind {
+        OPEN, CLOSE, DELETE, SAVE;
+
+        /**
+         * Returns the kind with the given name, ignoring case, or
+         * {@code null}.
+         */
+        public static Kind fromValue(String value) {
+            for (Kind kind : values()) {
+                if (kind.name().equalsIgnoreCase(value)) {
+                    return kind;
+                }
+            }
+            return null;
+        }
+
+        public String toValue() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        boolean isUiOperation() {
+            return this == SAVE;
+        }
+    }
+
+    public enum Outcome {
+        DONE, NOT_FOUND, INVALID, FAILED, SKIPPED,
+        /**
+         * The operation was not completed in time and may still be running,
+         * so whether it succeeds is not known.
+         */
+        TIMEOUT;
+
+        public String toValue() {
+            return name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+    }
+
+    public static class Operation {
+        private final String projectName;
+        private final String operation;
+        private final boolean deleteContents;
+
+        public Operation(String projectName, String operation, boolean deleteContents) {
+            this.projectName = projectName;
+            this.operation = operation;
+            this.deleteContents = deleteContents;
+        }
+    }
+
+    public static class Result {
+        private final String projectName;
+        private final String operation;
+        private final Kind kind;
+        private final boolean deleteContents;
+        private Outcome outcome;
+        private String message;
+        private long durationNanos;
+
+        Result(Operation operation) {
+            this.projectName = operation.projectName;
+            this.operation = operation.operation;
+            this.kind = Kind.fromValue(operation.operation);
+            this.deleteContents = operation.deleteContents;
+        }
+
+        void finish(Outcome outcome, String message, long startNanos) {
+            this.outcome = outcome;
+            this.message = message;
+            this.durationNanos = System.nanoTime() - startNanos;
+        }
+
+        public String getProjectName() {
+            return projectName;
+        }
+
+        public String getOperation() {
+            return operation;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+    }
+
+    private static final long UI_TIMEOUT_MILLIS = ServerConfig.getInt("batch.ui-timeout", 300000);
+
+    private ProjectBatch() {
+    }
+
+    /**
+     * Runs the operations and returns one result per operation, in the order
+     * of the operations. If {@code stopOnError} is set, the operations after
+     * the first one that did not succeed are skipped.
+     */
+    public static List<Result> run(List<Operation> operations, boolean stopOnError) {
+        List<Result> results = new ArrayList<>(operations.size());
+        for (Operation operation : operations) {
+            Result result = new Result(operation);
+            if (result.kind == null || result.projectName == null || result.projectName.isBlank()) {
+                result.finish(Outcome.INVALID, "Unknown operation '" + operation.operation
+                        + "' or no project given", System.nanoTime());
+            }
+            results.add(result);
+        }
+        int start = 0;
+        while (start < results.size()) {
+            Result first = results.get(start);
+            if (first.outcome != null) {
+                start++;
+            } else {
+                int end = start + 1;
+                while (end < results.size() && results.get(end).outcome == null
+                        && results.get(end).kind.isUiOperation() == first.kind.isUiOperation()) {
+                    end++;
+                }
+                List<Result> segment = results.subList(start, end);
+                if (first.kind.isUiOperation()) {
+                    runOnUiThread(segment, stopOnError);
+                } else {
+                    runInWorkspace(segment, stopOnError);
+                }
+                start = end;
+            }
+            if (stopOnError && results.get(start - 1).outcome != Outcome.DONE) {
+                for (Result result : results.subList(start, results.size())) {
+                    result.outcome = Outcome.SKIPPED;
+                    result.message = null;
+                }
+                break;
+            }
+        }
+        return results;
+    }
+
+    private static void skipRemaining(List<Result> segment) {
+        for (Result result : segment) {
+            if (result.outcome == null) {
+                result.outcome = Outcome.SKIPPED;
+            }
+        }
+    }
+
+    private static void runInWorkspace(List<Result> segment, boolean stopOnError) {
+        List<String> projectNames = new ArrayList<>(segment.size());
+        for (Result result : segment) {
+            projectNames.add(result.projectName);
+        }
+        ProjectLocks.Held lock;
+        try {
+            // Project locks are always taken before the workspace rule
+            lock = ProjectLocks.INSTANCE.write(projectNames);
+        } catch (ProjectLocks.LockTimeoutException e) {
+            for (Result result : segment) {
+                result.finish(Outcome.FAILED, e.getMessage(), System.nanoTime());
+            }
+            return;
+        }
+        try {
+            runInWorkspace(segment, stopOnError, ResourcesPlugin.getWorkspace());
+        } finally {
+            lock.close();
+        }
+    }
+
+    private static void runInWorkspace(List<Result> segment, boolean stopOnError, IWorkspace workspace) {
+        IWorkspaceRunnable runnable = monitor -> {
+            for (Result result : segment) {
+                run(workspace, result, monitor);
+                if (stopOnError && result.outcome != Outcome.DONE) {
+                    skipRemaining(segment);
+                    return;
+                }
+            }
+        };
+        try {
+            workspace.run(runnable, workspace.getRoot(), IWorkspace.AVOID_UPDATE, null);
+        } catch (CoreException e) {
+            Main.log(IStatus.ERROR, "Cannot run project operations.", e);
+            for (Result result : segment) {
+                if (result.outcome == null) {
+                    result.finish(Outcome.FAILED, e.getMessage(), System.nanoTime());
+                }
+            }
+        }
+    }
+
+    private static void run(IWorkspace workspace, Result result, IProgressMonitor monitor) {
+        long start = System.nanoTime();
+        IProject project = workspace.getRoot().getProject(result.projectName);
+        if (!project.exists()) {
+            result.finish(Outcome.NOT_FOUND, "Project named '" + result.projectName + "' not found", start);
+            return;
+        }
+        try {
+            switch (result.kind) {
+            case OPEN:
+                project.open(monitor);
+                break;
+            case CLOSE:
+                project.close(monitor);
+                break;
+            case DELETE:
+                project.delete(result.deleteContents, true, monitor);
+                break;
+            default:
+                throw new IllegalStateException("Not a workspace operation: " + result.kind);
+            }
+            result.finish(Outcome.DONE, null, start);
+        } catch (CoreException e) {
+            result.finish(Outcome.FAILED, e.getMessage(), start);
+        }
+    }
+
+    private static void runOnUiThread(List<Result> segment, boolean stopOnError) {
+        List<String> projectNames = new ArrayList<>(segment.size());
+        for (Result result : segment) {
+            projectNames.add(result.projectName);
+        }
+        ProjectLocks.Held lock;
+        try {
+            // Like save jobs, saves must not overlap with closing or deleting the project
+            lock = ProjectLocks.INSTANCE.read(projectNames);
+        } catch (ProjectLocks.LockTimeoutException e) {
+            for (Result result : segment) {
+                result.finish(Outcome.FAILED, e.getMessage(), System.nanoTime());
+            }
+            return;
+        }
+        try {
+            saveOnUiThread(segment, stopOnError);
+        } finally {
+            lock.close();
+        }
+    }
+
+    private static void saveOnUiThread(List<Result> segment, boolean stopOnError) {
+        // Outcomes are published to the results only if the pass completes in time
+        List<Result> pass = new ArrayList<>(segment.size());
+        for (Result result : segment) {
+            Result copy = new Result(new Operation(result.projectName, result.operation, false));
+            pass.add(copy);
+        }
+        try {
+            UiDispatcher.INSTANCE.call(() -> {
+                IWorkspace workspace = ResourcesPlugin.getWorkspace();
+                for (Result result : pass) {
+                    long start = System.nanoTime();
+                    if (!workspace.getRoot().getProject(result.projectName).exists()) {
+                        result.finish(Outcome.NOT_FOUND, "Project named '" + result.projectName + "' not found",
+                                start);
+                    } else {
+                        try {
+                            WorkspaceProjectInt.saveEditors(result.projectName);
+                            result.finish(Outcome.DONE, null, start);
+                        } catch (RuntimeException e) {
+                            result.finish(Outcome.FAILED, e.getMessage(), start);
+                        }
+                    }
+                    if (stopOnError && result.outcome != Outcome.DONE) {
+                        break;
+                    }
+                }
+                return null;
+            }, UI_TIMEOUT_MILLIS);
+        } catch (UiDispatcher.DeadlineExceededException e) {
+            // The pass is only dropped if it has not been started yet
+            for (Result result : segment) {
+                result.finish(Outcome.TIMEOUT, "Not completed on the UI thread in time, the save may still be"
+                        + " running: " + e.getMessage(), System.nanoTime());
+            }
+            return;
+        } catch (Exception e) {
+            for (Result result : segment) {
+                result.finish(Outcome.FAILED, "Not completed on the UI thread: " + e.getMessage(), System.nanoTime());
+            }
+            return;
+        }
+        for (int i = 0; i < segment.size(); i++) {
+            Result result = segment.get(i);
+            Result copy = pass.get(i);
+            result.outcome = copy.outcome;
+            result.message = copy.message;
+            result.durationNanos = copy.durationNanos;
+        }
+        skipRemaining(segment);
+    }
+}
@@ -0,0 +1,177 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.integration;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Path;
+
+import com.deutschebahn.capella.Main;
+
+/**
+ * Imports existing project folders into the workspace.
+ *
+ * The {@code .project} descriptions of all folders are read in parallel,
+ * then all projects are created and opened in a single workspace operation,
+ * so that the workspace is locked once and listeners receive one batched
+ * resource delta. The projects to be created are locked exclusively
+ * beforehand, like by {@link ProjectBatch}, so that requests on a project of
+ * the same name do not see it half imported.
+ */
+public final class ProjectImporter {
+    public enum Outcome {
+        IMPORTED, NOT_FOUND, INVALID, EXISTS, FAILED;
+
+        public String toValue() {
+            return name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+    }
+
+    public static class Result {
+        private final String location;
+        private String projectName;
+        private Outcome outcome;
+        private String message;
+        private IProjectDescription description;
+        private IProject project;
+
+        Result(String location) {
+            this.location = location;
+        }
+
+        void fail(Outcome outcome, String message) {
+            this.outcome = outcome;
+            this.message = message;
+        }
+
+        public String getLocation() {
+            return location;
+        }
+
+        public String getProjectName() {
+            return projectName;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        /**
+         * Returns the imported project, or {@code null} if the import failed.
+         */
+        public IProject getProject() {
+            return project;
+        }
+    }
+
+    private ProjectImporter() {
+    }
+
+    private static Result readDescription(IWorkspace workspace, String location) {
+        Result result = new Result(location);
+        if (location == null || location.isBlank()) {
+            result.fail(Outcome.INVALID, "No project folder given");
+            return result;
+        }
+        File projectFolder = new File(location);
+        if (!projectFolder.exists()) {
+            result.fail(Outcome.NOT_FOUND, "Project folder not found");
+            return result;
+        }
+        File dotProjectFile = new File(projectFolder, IProjectDescription.DESCRIPTION_FILE_NAME);
+        if (!dotProjectFile.exists()) {
+            result.fail(Outcome.INVALID, "Project folder does not contain .project file");
+            return result;
+        }
+        try {
+            result.description = workspace.loadProjectDescription(new Path(dotProjectFile.getAbsolutePath()));
+            result.projectName = result.description.getName();
+        } catch (CoreException e) {
+            result.fail(Outcome.INVALID, e.getMessage());
+        }
+        return result;
+    }
+
+    private static void failRemaining(List<Result> results, String message) {
+        for (Result result : results) {
+            if (result.outcome == null) {
+                result.fail(Outcome.FAILED, message);
+            }
+        }
+    }
+
+    /**
+     * Imports the project folders and returns one result per location, in
+     * the order of the locations.
+     */
+    public static List<Result> importProjects(List<String> locations) {
+        IWorkspace workspace = ResourcesPlugin.getWorkspace();
+        List<Result> results = locations.parallelStream()
+                .map(location -> readDescription(workspace, location))
+                .collect(Collectors.toList());
+
+        IWorkspaceRunnable createAndOpen = monitor -> {
+            Set<String> names = new HashSet<>();
+            for (Result result : results) {
+                if (result.outcome != null) {
+                    continue;
+                }
+                IProject project = workspace.getRoot().getProject(result.projectName);
+                if (project.exists() || !names.add(result.projectName)) {
+                    result.fail(Outcome.EXISTS, "Project already exists");
+                    continue;
+                }
+                try {
+                    project.create(result.description, monitor);
+                    project.open(monitor);
+                    result.project = project;
+                    result.outcome = Outcome.IMPORTED;
+                } catch (CoreException e) {
+                    Main.log(IStatus.ERROR, "Cannot import project from '" + result.location + "'.", e);
+                    result.fail(Outcome.FAILED, e.getMessage());
+                }
+            }
+        };
+        Set<String> projectNames = new TreeSet<>();
+        for (Result result : results) {
+            if (result.outcome == null) {
+                projectNames.add(result.projectName);
+            }
+        }
+        ProjectLocks.Held lock;
+        try {
+            // Project locks are always taken before the workspace rule
+            lock = ProjectLocks.INSTANCE.write(projectNames);
+        } catch (ProjectLocks.LockTimeoutException e) {
+            failRemaining(results, e.getMessage());
+            return results;
+        }
+        try {
+            workspace.run(createAndOpen, workspace.getRoot(), IWorkspace.AVOID_UPDATE, null);
+        } catch (CoreException e) {
+            Main.log(IStatus.ERROR, "Cannot import projects.", e);
+            failRemaining(results, e.getMessage());
+        } finally {
+            lock.close();
+        }
+        return results;
+    }
+}
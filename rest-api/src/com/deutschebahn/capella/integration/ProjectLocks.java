@@ -0,0 +1,200 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.integration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.deutschebahn.capella.ServerConfig;
+import com.deutschebahn.capella.metrics.Counter;
+import com.deutschebahn.capella.metrics.Histogram;
+import com.deutschebahn.capella.metrics.MetricsRegistry;
+
+/**
+ * Coordinates requests working on the same project.
+ *
+ * Requests reading a project hold a shared lock, so that they run in
+ * parallel with each other, while lifecycle operations such as closing or
+ * deleting a project hold an exclusive lock. Locks are taken from a fixed
+ * table of fair read/write locks, selected by the hash of the project name.
+ * Waiting for a lock is bounded; requests that time out are answered with
+ * 503. Locks must only be taken on request or background threads, never on
+ * the UI thread, and before the workspace rule, so that they cannot take part
+ * in a deadlock.
+ */
+public class ProjectLocks {
+    public static final ProjectLocks INSTANCE = new ProjectLocks();
+
+    public static class LockTimeoutException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public LockTimeoutException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Locks held by a request, released by {@link #close()}.
+     */
+    public static class Held implements AutoCloseable {
+        private final List<Lock> locks;
+
+        Held(List<Lock> locks) {
+            this.locks = locks;
+        }
+
+        @Override
+        public void close() {
+            for (int i = locks.size() - 1; i >= 0; i--) {
+                locks.get(i).unlock();
+            }
+        }
+    }
+
+    private static final Histogram WAIT_DURATION = MetricsRegistry.INSTANCE.histogram(
+            "capella_project_lock_wait_seconds", "Time requests waited for a project lock in seconds, by mode",
+            "mode");
+    private static final Counter TIMEOUTS = MetricsRegistry.INSTANCE.counter("capella_project_lock_timeouts_total",
+            "Number of requests that gave up waiting for a project lock, by mode", "mode");
+
+    private static final String READ = "read";
+    private static final String WRITE = "write";
+
+    private final ReentrantReadWriteLock[] stripes = new ReentrantReadWriteLock[Math.max(1,
+            ServerConfig.getInt("locks.stripes", 64))];
+    private final long timeoutMillis = ServerConfig.getInt("locks.timeout", 10000);
+    private final AtomicLong readLocks = new AtomicLong();
+    private final AtomicLong writeLocks = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private ProjectLocks() {
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantReadWriteLock(true);
+        }
+    }
+
+    private int getStripe(String projectName) {
+        return Math.floorMod(projectName.hashCode(), stripes.length);
+    }
+
+    /**
+     * Acquires the locks in the order of their stripes, so that requests
+     * locking several projects cannot deadlock each other.
+     */
+    private Held acquire(Collection<String> projectNames, boolean write) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (String projectName : projectNames) {
+            indexes.add(getStripe(projectName));
+        }
+        String mode = write ? WRITE : READ;
+        List<Lock> locks = new ArrayList<>(indexes.size());
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        try {
+            for (int index : indexes) {
+                Lock lock = write ? stripes[index].writeLock() : stripes[index].readLock();
+                if (!lock.tryLock(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    timeouts.incrementAndGet();
+                    TIMEOUTS.increment(mode);
+                    throw new LockTimeoutException("Project '" + String.join("', '", projectNames)
+                            + "' is in use by other requests, waited " + timeoutMillis + " ms");
+                }
+                locks.add(lock);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            new Held(locks).close();
+            throw new LockTimeoutException("Interrupted while waiting for project '"
+                    + String.join("', '", projectNames) + "'");
+        } catch (RuntimeException e) {
+            new Held(locks).close();
+            throw e;
+        }
+        long waitNanos = System.nanoTime() - start;
+        WAIT_DURATION.observeNanos(waitNanos, mode);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        (write ? writeLocks : readLocks).incrementAndGet();
+        return new Held(locks);
+    }
+
+    /**
+     * Acquires a shared lock of the project.
+     *
+     * @throws LockTimeoutException if the lock is not available in time
+     */
+    public Held read(String projectName) {
+        return acquire(List.of(projectName), false);
+    }
+
+    /**
+     * Acquires shared locks of all given projects.
+     *
+     * @throws LockTimeoutException if the locks are not available in time
+     */
+    public Held read(Collection<String> projectNames) {
+        return acquire(projectNames, false);
+    }
+
+    /**
+     * Acquires an exclusive lock of the project.
+     *
+     * @throws LockTimeoutException if the lock is not available in time
+     */
+    public Held write(String projectName) {
+        return acquire(List.of(projectName), true);
+    }
+
+    /**
+     * Acquires an exclusive lock of the project if it becomes available
+     * within the given time, for background work that rather skips a busy
+     * project than waits for it.
+     *
+     * @return the held lock or {@code null} if it is not available in time
+     */
+    public Held tryWrite(String projectName, long timeoutMillis) {
+        Lock lock = stripes[getStripe(projectName)].writeLock();
+        try {
+            if (!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                return null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        writeLocks.incrementAndGet();
+        return new Held(List.of(lock));
+    }
+
+    /**
+     * Acquires exclusive locks of all given projects.
+     *
+     * @throws LockTimeoutException if the locks are not available in time
+     */
+    public Held write(Collection<String> projectNames) {
+        return acquire(projectNames, true);
+    }
+
+    public long getReadLocks() {
+        return readLocks.get();
+    }
+
+    public long getWriteLocks() {
+        return writeLocks.get();
+    }
+
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    public long getMaxWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+    }
+}
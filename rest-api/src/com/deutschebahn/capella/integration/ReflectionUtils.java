@@ -3,31 +3,154 @@
 
 package com.deutschebahn.capella.integration;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IStatus;
+
+import com.deutschebahn.capella.Main;
 
 public class ReflectionUtils {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodHandle PATH_TO_STRING;
+
+    static {
+        try {
+            PATH_TO_STRING = MethodHandles.lookup().findStatic(ReflectionUtils.class, "pathToString",
+                    MethodType.methodType(String.class, IPath.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final class PropertyCopier {
+        final String propName;
+        final MethodHandle getter;
+        final MethodHandle setter;
+
+        PropertyCopier(String propName, MethodHandle getter, MethodHandle setter) {
+            this.propName = propName;
+            this.getter = getter;
+            this.setter = setter;
+        }
+    }
+
+    /**
+     * Copy plans by source class and target class. The plans are built once
+     * per pair of classes and hold method handles erased to {@code Object}.
+     */
+    private static final ClassValue<Map<Class<?>, List<PropertyCopier>>> COPY_PLANS = new ClassValue<>() {
+        @Override
+        protected Map<Class<?>, List<PropertyCopier>> computeValue(Class<?> sourceClass) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     public static void copyProperties(Object source, Object target) {
-        Class<?> sourceClass = source.getClass();
-        Class<?> targetClass = target.getClass();
+        List<PropertyCopier> plan = COPY_PLANS.get(source.getClass())
+                .computeIfAbsent(target.getClass(), targetClass -> buildCopyPlan(source.getClass(), targetClass));
+        for (PropertyCopier copier : plan) {
+            try {
+                Object value = (Object) copier.getter.invokeExact(source);
+                copier.setter.invokeExact(target, value);
+            } catch (Throwable e) {
+                Main.log(IStatus.WARNING, "Cannot copy property '" + copier.propName + "' from "
+                        + source.getClass().getName() + " to " + target.getClass().getName(), e);
+            }
+        }
+    }
 
+    private static List<PropertyCopier> buildCopyPlan(Class<?> sourceClass, Class<?> targetClass) {
         Map<String, Method> getters = getGetters(sourceClass);
-        Map<String, Method> setters = getSetters(targetClass);
+        Map<String, List<Method>> setters = new HashMap<>();
+        populateAllSetters(setters, targetClass);
 
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        List<PropertyCopier> plan = new ArrayList<>();
         for (Map.Entry<String, Method> getterEntry : getters.entrySet()) {
             String propName = getterEntry.getKey();
             Method getterMethod = getterEntry.getValue();
-            if (setters.containsKey(propName)) {
-                Method setterMethod = setters.get(propName);
-                try {
-                    Object value = getterMethod.invoke(source);
-                    setterMethod.invoke(target, value);
-                } catch (Exception e) {
-                    e.printStackTrace();
+            List<Method> candidates = setters.get(propName);
+            if (candidates == null || !isAccessible(getterMethod)
+                    || getterMethod.getReturnType() == void.class) {
+                continue;
+            }
+            try {
+                MethodHandle getter = lookup.unreflect(getterMethod);
+                MethodHandle setter = findSetter(lookup, candidates, getterMethod.getReturnType());
+                if (setter == null) {
+                    continue;
                 }
+                if (setter.type().parameterType(1) == String.class
+                        && IPath.class.isAssignableFrom(getterMethod.getReturnType())) {
+                    getter = MethodHandles.filterReturnValue(
+                            getter.asType(getter.type().changeReturnType(IPath.class)), PATH_TO_STRING);
+                }
+                plan.add(new PropertyCopier(propName, getter.asType(GETTER_TYPE), setter.asType(SETTER_TYPE)));
+            } catch (IllegalAccessException e) {
+                Main.log(IStatus.WARNING, "Cannot access property '" + propName + "' to copy it from "
+                        + sourceClass.getName() + " to " + targetClass.getName(), e);
+            }
+        }
+        return Collections.unmodifiableList(plan);
+    }
+
+    /**
+     * Selects the setter accepting the value type of the getter. Setters of
+     * the most derived class are preferred. If there is no such setter, an
+     * {@link IPath} value is passed to a {@code String} setter.
+     */
+    private static MethodHandle findSetter(MethodHandles.Lookup lookup, List<Method> candidates,
+            Class<?> valueType) throws IllegalAccessException {
+        Class<?> boxedValueType = MethodType.methodType(valueType).wrap().returnType();
+        Method pathSetter = null;
+        for (Method candidate : candidates) {
+            if (!isAccessible(candidate)) {
+                continue;
+            }
+            Class<?> parameterType = MethodType.methodType(candidate.getParameterTypes()[0]).wrap()
+                    .returnType();
+            if (parameterType.isAssignableFrom(boxedValueType)) {
+                return lookup.unreflect(candidate);
+            }
+            if (pathSetter == null && parameterType == String.class && IPath.class.isAssignableFrom(valueType)) {
+                pathSetter = candidate;
+            }
+        }
+        return pathSetter == null ? null : lookup.unreflect(pathSetter);
+    }
+
+    private static String pathToString(IPath path) {
+        return path == null ? "" : path.toString();
+    }
+
+    private static boolean isAccessible(Method method) {
+        return Modifier.isPublic(method.getModifiers()) && !Modifier.isStatic(method.getModifiers())
+                && Modifier.isPublic(method.getDeclaringClass().getModifiers());
+    }
+
+    private static void populateAllSetters(Map<String, List<Method>> setters, Class<?> clazz) {
+        if (clazz == null || clazz == Object.class) {
+            return;
+        }
+        for (Method method : clazz.getDeclaredMethods()) {
+            if (isSetter(method)) {
+                String propName = extractPropertyName(method.getName());
+                setters.computeIfAbsent(propName, k -> new ArrayList<>()).add(method);
             }
         }
+        populateAllSetters(setters, clazz.getSuperclass());
     }
 
     public static Map<String, Method> getGetters(Class<?> clazz) {
@@ -0,0 +1,390 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.integration;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.transaction.NotificationFilter;
+import org.eclipse.emf.transaction.ResourceSetChangeEvent;
+import org.eclipse.emf.transaction.ResourceSetListenerImpl;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.sirius.business.api.session.Session;
+import org.eclipse.sirius.business.api.session.SessionListener;
+import org.eclipse.sirius.business.api.session.SessionManager;
+
+import com.deutschebahn.capella.Main;
+import com.deutschebahn.capella.metrics.Histogram;
+import com.deutschebahn.capella.metrics.MetricsRegistry;
+
+/**
+ * Caches the resolution project name -> .aird URI -> Sirius session.
+ *
+ * Entries are dropped by a resource change listener when .aird files of a
+ * project are added, removed or renamed, or when the project is closed or
+ * deleted. A cached session that has been closed in the meantime counts as a
+ * miss and is resolved again. The cache keeps track of the sessions it opened
+ * itself, as opposed to sessions opened in the user interface.
+ */
+public class SessionCache implements IResourceChangeListener {
+    public static final SessionCache INSTANCE = new SessionCache();
+
+    private static final String AIRD_EXTENSION = "aird";
+
+    private static class Entry {
+        final URI airdURI;
+        volatile Session session;
+        volatile long lastUsed;
+
+        Entry(URI airdURI) {
+            this.airdURI = airdURI;
+        }
+    }
+
+    /**
+     * An open session obtained through the cache.
+     */
+    public static class ResidentSession {
+        private final String projectName;
+        private final Session session;
+        private final long lastUsed;
+        private final boolean openedByServer;
+
+        ResidentSession(String projectName, Session session, long lastUsed, boolean openedByServer) {
+            this.projectName = projectName;
+            this.session = session;
+            this.lastUsed = lastUsed;
+            this.openedByServer = openedByServer;
+        }
+
+        public String getProjectName() {
+            return projectName;
+        }
+
+        public Session getSession() {
+            return session;
+        }
+
+        /**
+         * Returns the time of the last lookup of the session in milliseconds
+         * since the epoch.
+         */
+        public long getLastUsed() {
+            return lastUsed;
+        }
+
+        /**
+         * Whether the session was opened by the cache rather than found
+         * open, e.g. because the user opened it in the user interface.
+         */
+        public boolean isOpenedByServer() {
+            return openedByServer;
+        }
+    }
+
+    /**
+     * Counts the transactions committed on a session.
+     */
+    private class ChangeCounter extends ResourceSetListenerImpl implements SessionListener {
+        final Session session;
+        final long id = nextChangeCounterId.incrementAndGet();
+        final AtomicLong changes = new AtomicLong();
+
+        ChangeCounter(Session session) {
+            super(NotificationFilter.NOT_TOUCH);
+            this.session = session;
+        }
+
+        @Override
+        public boolean isPostcommitOnly() {
+            return true;
+        }
+
+        @Override
+        public void resourceSetChanged(ResourceSetChangeEvent event) {
+            changes.incrementAndGet();
+        }
+
+        @Override
+        public void notify(int changeKind) {
+            if (changeKind == SessionListener.CLOSING) {
+                changeCounters.remove(session, this);
+                session.removeListener(this);
+                TransactionalEditingDomain domain = session.getTransactionalEditingDomain();
+                if (domain != null) {
+                    domain.removeResourceSetListener(this);
+                }
+            }
+        }
+    }
+
+    private final AtomicLong nextChangeCounterId = new AtomicLong();
+    private final Map<Session, ChangeCounter> changeCounters = new ConcurrentHashMap<>();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<Session> openedSessions = ConcurrentHashMap.newKeySet();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private static final Histogram LOOKUP_DURATION = MetricsRegistry.INSTANCE.histogram(
+            "capella_session_lookup_duration_seconds",
+            "Time to look up the Sirius session of a project in seconds, by cache result", "result");
+
+    private SessionCache() {
+        MetricsRegistry.INSTANCE.gauge("capella_session_cache_size",
+                "Number of projects with a cached session resolution", this::getSize);
+        ResourcesPlugin.getWorkspace().addResourceChangeListener(this,
+                IResourceChangeEvent.POST_CHANGE
+                        | IResourceChangeEvent.PRE_CLOSE
+                        | IResourceChangeEvent.PRE_DELETE);
+    }
+
+    /**
+     * Returns the .aird files in the root folder of the project, ordered by
+     * name.
+     */
+    public static List<File> findAirdFiles(IProject project) {
+        IPath directoryPath = project.getLocation();
+        if (directoryPath == null) {
+            return Collections.emptyList();
+        }
+        File[] files = directoryPath.toFile().listFiles(
+                (dir, name) -> name.endsWith("." + AIRD_EXTENSION) && new File(dir, name).isFile());
+        if (files == null) {
+            return Collections.emptyList();
+        }
+        Arrays.sort(files, Comparator.comparing(File::getName));
+        return Arrays.asList(files);
+    }
+
+    /**
+     * Returns the .aird file the session of the project is opened from, the
+     * first by name, or {@code null} if the project does not contain one.
+     * Diagram listings read without a session use the same file.
+     */
+    public static File findAirdFile(IProject project) {
+        List<File> files = findAirdFiles(project);
+        if (files.isEmpty()) {
+            return null;
+        }
+        if (files.size() > 1) {
+            Main.log(IStatus.WARNING, "Project '" + project.getName() + "' contains " + files.size()
+                    + " .aird files, using '" + files.get(0).getName() + "' for its session.", null);
+        }
+        return files.get(0);
+    }
+
+    static URI findAirdURI(IProject project) {
+        File file = findAirdFile(project);
+        return file == null ? null : URI.createFileURI(file.getAbsolutePath());
+    }
+
+    private Entry resolve(IProject project) {
+        Entry entry = entries.get(project.getName());
+        if (entry != null) {
+            return entry;
+        }
+        long expectedGeneration = generation.get();
+        entry = new Entry(findAirdURI(project));
+        // Do not cache a resolution that raced with an invalidation
+        if (generation.get() == expectedGeneration) {
+            Entry existing = entries.putIfAbsent(project.getName(), entry);
+            if (existing != null) {
+                return existing;
+            }
+            // An invalidation between the check and the insertion must still drop it
+            if (generation.get() != expectedGeneration) {
+                entries.remove(project.getName(), entry);
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Returns the URI of the .aird file of the project or {@code null} if the
+     * project does not contain one.
+     */
+    public URI getAirdURI(IProject project) {
+        return resolve(project).airdURI;
+    }
+
+    /**
+     * Returns the Sirius session of the project, opening it if necessary, or
+     * {@code null} if the project does not contain an .aird file or no
+     * session can be obtained for it.
+     */
+    public Session getSession(IProject project) {
+        long start = System.nanoTime();
+        Entry entry = resolve(project);
+        entry.lastUsed = System.currentTimeMillis();
+        Session session = entry.session;
+        if (session != null && session.isOpen()) {
+            hits.incrementAndGet();
+            LOOKUP_DURATION.observeNanos(System.nanoTime() - start, "hit");
+            return session;
+        }
+        misses.incrementAndGet();
+        if (entry.airdURI != null) {
+            session = SessionManager.INSTANCE.getExistingSession(entry.airdURI);
+            if (session == null || !session.isOpen()) {
+                session = SessionManager.INSTANCE.getSession(entry.airdURI, new NullProgressMonitor());
+                if (session != null) {
+                    openedSessions.add(session);
+                }
+            }
+            entry.session = session;
+        } else {
+            session = null;
+        }
+        LOOKUP_DURATION.observeNanos(System.nanoTime() - start, "miss");
+        return session;
+    }
+
+    /**
+     * Returns a token that changes whenever a transaction is committed on
+     * the session or the session is opened again. Changes are counted from
+     * the first call for a session.
+     */
+    public String getVersion(Session session) {
+        ChangeCounter counter = changeCounters.computeIfAbsent(session, s -> {
+            ChangeCounter newCounter = new ChangeCounter(s);
+            s.getTransactionalEditingDomain().addResourceSetListener(newCounter);
+            s.addListener(newCounter);
+            return newCounter;
+        });
+        return counter.id + "." + counter.changes.get();
+    }
+
+    /**
+     * Returns the Sirius session of the project if it is already open,
+     * without loading the model, or {@code null}.
+     */
+    public Session getOpenSession(IProject project) {
+        Entry entry = resolve(project);
+        Session session = entry.session;
+        if ((session == null || !session.isOpen()) && entry.airdURI != null) {
+            session = SessionManager.INSTANCE.getExistingSession(entry.airdURI);
+        }
+        if (session == null || !session.isOpen()) {
+            return null;
+        }
+        entry.session = session;
+        entry.lastUsed = System.currentTimeMillis();
+        return session;
+    }
+
+    public void invalidate(String projectName) {
+        generation.incrementAndGet();
+        if (entries.remove(projectName) != null) {
+            invalidations.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the open sessions obtained through the cache, the least
+     * recently used first.
+     */
+    public List<ResidentSession> getResidentSessions() {
+        openedSessions.removeIf(session -> !session.isOpen());
+        List<ResidentSession> sessions = new ArrayList<>();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            Session session = entry.getValue().session;
+            if (session != null && session.isOpen()) {
+                sessions.add(new ResidentSession(entry.getKey(), session, entry.getValue().lastUsed,
+                        openedSessions.contains(session)));
+            }
+        }
+        sessions.sort((a, b) -> Long.compare(a.lastUsed, b.lastUsed));
+        return sessions;
+    }
+
+    /**
+     * Returns the time of the last lookup of the session of the project in
+     * milliseconds since the epoch, or 0 if it has not been looked up since
+     * it was last resolved.
+     */
+    public long getLastUsed(String projectName) {
+        Entry entry = entries.get(projectName);
+        return entry == null ? 0 : entry.lastUsed;
+    }
+
+    public int getSize() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getInvalidations() {
+        return invalidations.get();
+    }
+
+    @Override
+    public void resourceChanged(IResourceChangeEvent event) {
+        switch (event.getType()) {
+        case IResourceChangeEvent.PRE_CLOSE:
+        case IResourceChangeEvent.PRE_DELETE:
+            invalidate(event.getResource().getName());
+            break;
+        case IResourceChangeEvent.POST_CHANGE:
+            try {
+                event.getDelta().accept(this::visit);
+            } catch (CoreException e) {
+                Main.log(IStatus.ERROR, "Cannot process resource delta for the session cache.", e);
+            }
+            break;
+        default:
+            break;
+        }
+    }
+
+    private boolean visit(IResourceDelta delta) {
+        IResource resource = delta.getResource();
+        switch (resource.getType()) {
+        case IResource.ROOT:
+            return true;
+        case IResource.PROJECT:
+            int projectFlags = IResourceDelta.OPEN | IResourceDelta.MOVED_FROM | IResourceDelta.MOVED_TO;
+            if (delta.getKind() != IResourceDelta.CHANGED || (delta.getFlags() & projectFlags) != 0) {
+                invalidate(resource.getName());
+                return false;
+            }
+            // .aird files are only looked up in the project root
+            return true;
+        case IResource.FILE:
+            if (AIRD_EXTENSION.equals(resource.getFileExtension())
+                    && delta.getKind() != IResourceDelta.CHANGED) {
+                invalidate(resource.getProject().getName());
+            }
+            return false;
+        default:
+            return false;
+        }
+    }
+}
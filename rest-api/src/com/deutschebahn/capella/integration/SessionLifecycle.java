@@ -0,0 +1,260 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.integration;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.sirius.business.api.session.Session;
+import org.eclipse.sirius.business.api.session.SessionStatus;
+
+import com.deutschebahn.capella.Main;
+import com.deutschebahn.capella.ServerConfig;
+import com.deutschebahn.capella.metrics.Counter;
+import com.deutschebahn.capella.metrics.MetricsRegistry;
+
+/**
+ * Opens the sessions of newly opened or imported projects in the background
+ * and closes sessions that are not used anymore.
+ *
+ * If enabled together with a limit of resident sessions or heap, sessions
+ * are warmed up by a bounded number of threads, so that the first request
+ * for a project does not have to wait for its model to be loaded. A
+ * periodic sweep closes the sessions opened through the
+ * {@link SessionCache} that have been idle for too long, and the least
+ * recently used ones while there are more than the maximum number of
+ * resident sessions or the heap is fuller than its budget. Sessions with
+ * unsaved changes or open editors are never closed, nor are sessions of
+ * projects that requests or jobs hold a lock of. Sessions that were already
+ * open when the server looked them up, e.g. because the user opened them in
+ * the user interface, are left to the user.
+ */
+public class SessionLifecycle implements IResourceChangeListener {
+    public static final SessionLifecycle INSTANCE = new SessionLifecycle();
+
+    private static final Counter EVICTIONS = MetricsRegistry.INSTANCE.counter("capella_session_evictions_total",
+            "Number of sessions closed by the server, by reason", "reason");
+    private static final long EVICTION_LOCK_TIMEOUT_MILLIS = 100;
+
+    private final int warmupThreads = ServerConfig.getInt("sessions.warmup-threads", 0);
+    private final long idleTimeoutMillis = TimeUnit.SECONDS
+            .toMillis(ServerConfig.getInt("sessions.idle-timeout", 3600));
+    private final int maxResident = ServerConfig.getInt("sessions.max-resident", 0);
+    private final int maxHeapPercent = ServerConfig.getInt("sessions.max-heap", 0);
+    private final int sweepInterval = ServerConfig.getInt("sessions.sweep-interval", 60);
+    private final Set<String> warmingUp = ConcurrentHashMap.newKeySet();
+    private final AtomicLong warmups = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private ThreadPoolExecutor warmupExecutor;
+    private ScheduledExecutorService sweeper;
+
+    private SessionLifecycle() {
+        MetricsRegistry.INSTANCE.gauge("capella_sessions_resident", "Number of open sessions obtained by the server",
+                () -> SessionCache.INSTANCE.getResidentSessions().size());
+        MetricsRegistry.INSTANCE.counter("capella_session_warmups_total",
+                "Number of sessions opened in the background", this::getWarmups);
+    }
+
+    /**
+     * Returns whether the sweep closes sessions to stay within a maximum
+     * number of resident sessions or a heap budget.
+     */
+    private boolean isBudgeted() {
+        return sweepInterval > 0 && (maxResident > 0 || maxHeapPercent > 0);
+    }
+
+    /**
+     * Starts warming up sessions of opened projects and the periodic sweep,
+     * as far as they are enabled. Warming up requires a budget, since it
+     * loads the session of every opened or imported project.
+     */
+    public void install() {
+        if (warmupThreads > 0 && !isBudgeted()) {
+            Main.log(IStatus.WARNING, "Sessions are not warmed up without a limit of resident sessions or heap,"
+                    + " see capella.api.sessions.max-resident and capella.api.sessions.max-heap.", null);
+        } else if (warmupThreads > 0) {
+            warmupExecutor = new ThreadPoolExecutor(warmupThreads, warmupThreads, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), runnable -> {
+                        Thread thread = new Thread(runnable, "capella-session-warmup");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            warmupExecutor.allowCoreThreadTimeOut(true);
+            ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+        }
+        if (sweepInterval > 0 && (idleTimeoutMillis > 0 || maxResident > 0 || maxHeapPercent > 0)) {
+            sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "capella-session-sweeper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            sweeper.scheduleWithFixedDelay(this::sweep, sweepInterval, sweepInterval, TimeUnit.SECONDS);
+        }
+    }
+
+    @Override
+    public void resourceChanged(IResourceChangeEvent event) {
+        IResourceDelta delta = event.getDelta();
+        if (delta == null) {
+            return;
+        }
+        for (IResourceDelta projectDelta : delta.getAffectedChildren()) {
+            IProject project = (IProject) projectDelta.getResource();
+            boolean opened = projectDelta.getKind() == IResourceDelta.ADDED
+                    || (projectDelta.getKind() == IResourceDelta.CHANGED
+                            && (projectDelta.getFlags() & IResourceDelta.OPEN) != 0);
+            if (opened && project.isOpen()) {
+                warmUp(project);
+            }
+        }
+    }
+
+    private void warmUp(IProject project) {
+        String projectName = project.getName();
+        if (!warmingUp.add(projectName)) {
+            return;
+        }
+        warmupExecutor.execute(() -> {
+            try {
+                if (!project.isOpen() || SessionCache.INSTANCE.getAirdURI(project) == null) {
+                    return;
+                }
+                long start = System.nanoTime();
+                Session session = SessionCache.INSTANCE.getSession(project);
+                if (session != null) {
+                    warmups.incrementAndGet();
+                    Main.log(IStatus.INFO, "Opened session of project '" + projectName + "' in "
+                            + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms.", null);
+                }
+            } catch (RuntimeException e) {
+                Main.log(IStatus.WARNING, "Cannot open session of project '" + projectName + "'.", e);
+            } finally {
+                warmingUp.remove(projectName);
+            }
+        });
+    }
+
+    private static boolean isInUse(SessionCache.ResidentSession resident) {
+        String projectName = resident.getProjectName();
+        return resident.getSession().getStatus() == SessionStatus.DIRTY
+                || EditorIndex.INSTANCE.isDirty(projectName)
+                || !EditorIndex.INSTANCE.getSessionEditorInputs(projectName).isEmpty();
+    }
+
+    /**
+     * Returns the fraction of the maximum heap in use after the last garbage
+     * collection, so that collectable garbage does not cause evictions.
+     */
+    private static double getHeapUsage() {
+        long used = 0;
+        long max = Runtime.getRuntime().maxMemory();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() != MemoryType.HEAP) {
+                continue;
+            }
+            MemoryUsage usage = pool.getCollectionUsage();
+            used += usage != null ? usage.getUsed() : pool.getUsage().getUsed();
+        }
+        return max > 0 ? (double) used / max : 0;
+    }
+
+    private void sweep() {
+        try {
+            List<SessionCache.ResidentSession> candidates = new ArrayList<>();
+            int resident = 0;
+            for (SessionCache.ResidentSession session : SessionCache.INSTANCE.getResidentSessions()) {
+                resident++;
+                if (session.isOpenedByServer() && !isInUse(session)) {
+                    candidates.add(session);
+                }
+            }
+            long now = System.currentTimeMillis();
+            for (SessionCache.ResidentSession candidate : candidates) {
+                String reason;
+                if (idleTimeoutMillis > 0 && now - candidate.getLastUsed() > idleTimeoutMillis) {
+                    reason = "idle";
+                } else if (maxResident > 0 && resident > maxResident) {
+                    reason = "count";
+                } else if (maxHeapPercent > 0 && getHeapUsage() * 100 > maxHeapPercent) {
+                    reason = "memory";
+                } else {
+                    // Candidates are ordered by last use, later ones are not idle either
+                    break;
+                }
+                if (evict(candidate, reason)) {
+                    resident--;
+                    if (reason.equals("memory")) {
+                        // The heap usage is only updated by the next collection
+                        break;
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            Main.log(IStatus.ERROR, "Cannot sweep idle sessions.", e);
+        }
+    }
+
+    private boolean evict(SessionCache.ResidentSession resident, String reason) {
+        String projectName = resident.getProjectName();
+        Session session = resident.getSession();
+        // Requests holding the project are not waited for, it is evicted by a later sweep
+        ProjectLocks.Held lock = ProjectLocks.INSTANCE.tryWrite(projectName, EVICTION_LOCK_TIMEOUT_MILLIS);
+        if (lock == null) {
+            return false;
+        }
+        try {
+            boolean closed = UiDispatcher.INSTANCE.call(() -> {
+                // The session may have been used or modified since the sweep started
+                if (!session.isOpen() || isInUse(resident)
+                        || SessionCache.INSTANCE.getLastUsed(projectName) != resident.getLastUsed()) {
+                    return false;
+                }
+                session.close(new NullProgressMonitor());
+                return true;
+            });
+            if (closed) {
+                evictions.incrementAndGet();
+                EVICTIONS.increment(reason);
+                Main.log(IStatus.INFO, "Closed session of project '" + projectName + "' (" + reason + ").", null);
+            }
+            return closed;
+        } catch (Exception e) {
+            Main.log(IStatus.WARNING, "Cannot close session of project '" + projectName + "'.", e);
+            return false;
+        } finally {
+            lock.close();
+        }
+    }
+
+    public int getWarmupsPending() {
+        return warmingUp.size();
+    }
+
+    public long getWarmups() {
+        return warmups.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+}
@@ -0,0 +1,239 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.integration;
+
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.swt.SWTException;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.PlatformUI;
+
+import com.deutschebahn.capella.Main;
+import com.deutschebahn.capella.ServerConfig;
+import com.deutschebahn.capella.metrics.Histogram;
+import com.deutschebahn.capella.metrics.MetricsRegistry;
+
+/**
+ * Runs work of concurrent requests on the UI thread in batches.
+ *
+ * Submitted work is queued and drained by a single {@code asyncExec}
+ * runnable, which runs queued work until the queue is empty or the time
+ * budget of the slice is used up and then yields the UI thread to other
+ * events. Callers waiting for a result do so with a deadline, work whose
+ * caller gave up before it was started is skipped.
+ */
+public class UiDispatcher {
+    public static final UiDispatcher INSTANCE = new UiDispatcher();
+
+    @FunctionalInterface
+    public interface UiCallable<T> {
+        T call() throws Exception;
+    }
+
+    /**
+     * Thrown if work could not be run on the UI thread before the deadline of
+     * the request, e.g. because the UI thread is busy or blocked by a modal
+     * dialog.
+     */
+    public static class DeadlineExceededException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public DeadlineExceededException(String message) {
+            super(message);
+        }
+    }
+
+    private static class Task<T> {
+        final UiCallable<T> callable;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final long enqueuedAt = System.nanoTime();
+
+        Task(UiCallable<T> callable) {
+            this.callable = callable;
+        }
+
+        void run() {
+            try {
+                future.complete(callable.call());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private final Queue<Task<?>> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final long sliceBudgetNanos = TimeUnit.MILLISECONDS.toNanos(ServerConfig.getInt("ui.slice-budget", 50));
+    private final long defaultTimeoutMillis = ServerConfig.getInt("ui.timeout", 30000);
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong slices = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private static final Histogram WAIT_DURATION = MetricsRegistry.INSTANCE.histogram(
+            "capella_ui_dispatcher_wait_seconds", "Time work waited for the UI thread in seconds");
+
+    private UiDispatcher() {
+        MetricsRegistry.INSTANCE.gauge("capella_ui_dispatcher_queue_depth",
+                "Number of work items waiting for the UI thread", this::getQueueDepth);
+        MetricsRegistry.INSTANCE.counter("capella_ui_dispatcher_timeouts_total",
+                "Number of requests that gave up waiting for the UI thread", this::getTimeouts);
+    }
+
+    /**
+     * Runs the callable on the UI thread and waits for its result for at most
+     * the configured timeout ({@code capella.api.ui.timeout}).
+     */
+    public <T> T call(UiCallable<T> callable) throws Exception {
+        return call(callable, defaultTimeoutMillis);
+    }
+
+    /**
+     * Runs the callable on the UI thread and waits for its result for at most
+     * the given number of milliseconds. If called on the UI thread, the
+     * callable is run directly.
+     *
+     * @throws DeadlineExceededException if the result is not available in time
+     * @throws Exception                 the exception thrown by the callable
+     */
+    public <T> T call(UiCallable<T> callable, long timeoutMillis) throws Exception {
+        if (Display.getCurrent() != null) {
+            return callable.call();
+        }
+        Task<T> task = enqueue(callable);
+        try {
+            return task.future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Skipped by the drain if it has not been started yet
+            task.future.cancel(false);
+            timeouts.incrementAndGet();
+            throw new DeadlineExceededException("The UI thread did not respond within " + timeoutMillis + " ms");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            task.future.cancel(false);
+            throw e;
+        }
+    }
+
+    /**
+     * Queues the runnable to be run on the UI thread without waiting for it.
+     * Failures are written to the error log.
+     */
+    public void execute(Runnable runnable) {
+        enqueue(() -> {
+            runnable.run();
+            return null;
+        }).future.whenComplete((result, failure) -> {
+            if (failure != null && !(failure instanceof CancellationException)) {
+                Main.log(IStatus.ERROR, "Failure of work on the UI thread.", failure);
+            }
+        });
+    }
+
+    private <T> Task<T> enqueue(UiCallable<T> callable) {
+        Task<T> task = new Task<>(callable);
+        queue.add(task);
+        maxQueueDepth.accumulateAndGet(queueDepth.incrementAndGet(), Math::max);
+        scheduleDrain();
+        return task;
+    }
+
+    private void scheduleDrain() {
+        if (!drainScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            PlatformUI.getWorkbench().getDisplay().asyncExec(this::drain);
+        } catch (IllegalStateException | SWTException e) {
+            // No workbench (anymore), nothing will ever be run
+            drainScheduled.set(false);
+            Task<?> task;
+            while ((task = queue.poll()) != null) {
+                queueDepth.decrementAndGet();
+                task.future.completeExceptionally(new CancellationException("The workbench is not running"));
+            }
+        }
+    }
+
+    private void drain() {
+        long sliceStart = System.nanoTime();
+        slices.incrementAndGet();
+        Task<?> task;
+        while ((task = queue.poll()) != null) {
+            queueDepth.decrementAndGet();
+            if (task.future.isDone()) {
+                skipped.incrementAndGet();
+                continue;
+            }
+            long now = System.nanoTime();
+            long wait = now - task.enqueuedAt;
+            totalWaitNanos.addAndGet(wait);
+            maxWaitNanos.accumulateAndGet(wait, Math::max);
+            WAIT_DURATION.observeNanos(wait);
+            task.run();
+            executed.incrementAndGet();
+            if (System.nanoTime() - sliceStart >= sliceBudgetNanos) {
+                break;
+            }
+        }
+        drainScheduled.set(false);
+        // Work that was queued while the flag was still set
+        if (!queue.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    public int getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    public long getExecuted() {
+        return executed.get();
+    }
+
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    public long getSlices() {
+        return slices.get();
+    }
+
+    public long getTotalWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get());
+    }
+
+    public long getMaxWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+    }
+}
@@ -0,0 +1,314 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.integration;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.sirius.business.api.dialect.DialectManager;
+import org.eclipse.sirius.business.api.session.Session;
+import org.eclipse.sirius.ui.business.api.session.SessionEditorInput;
+import org.eclipse.sirius.viewpoint.DRepresentationDescriptor;
+
+import com.deutschebahn.capella.api.ApiException;
+import com.deutschebahn.capella.model.DiagramEditor;
+import com.deutschebahn.capella.model.ImportProjectResult;
+import com.deutschebahn.capella.model.ModelElement;
+import com.deutschebahn.capella.model.ModelElementPage;
+import com.deutschebahn.capella.model.ProjectOperation;
+import com.deutschebahn.capella.model.ProjectOperationResult;
+import com.deutschebahn.capella.model.WorkspaceProject;
+
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Access of the projects API to the Eclipse workspace, the Sirius sessions
+ * and the open editors.
+ *
+ * Projects are addressed by name and results are returned as types of the
+ * API model or as plain values, so that the request handlers do not depend
+ * on the platform. The benchmarks replace this class with one backed by an
+ * in-memory workspace and serve the request handlers of the bundle
+ * unchanged. Failures that answer a request are thrown as
+ * {@link ApiException} with the HTTP status code.
+ */
+public class WorkspaceAccess {
+    public static final WorkspaceAccess INSTANCE = new WorkspaceAccess();
+
+    private WorkspaceAccess() {
+    }
+
+    private static IWorkspaceRoot getRoot() {
+        return ResourcesPlugin.getWorkspace().getRoot();
+    }
+
+    private static IProject getProject(String projectName) throws ApiException {
+        IProject project = getRoot().getProject(projectName);
+        if (!project.exists()) {
+            throw new ApiException(Response.Status.NOT_FOUND.getStatusCode(),
+                    "Project named '" + projectName + "' not found");
+        }
+        return project;
+    }
+
+    private static Session getSession(IProject project) throws ApiException {
+        if (SessionCache.INSTANCE.getAirdURI(project) == null) {
+            throw new ApiException(Response.Status.NOT_FOUND.getStatusCode(),
+                    "An .aird file is required to get a session for the Capella project.");
+        }
+        Session session = SessionCache.INSTANCE.getSession(project);
+        if (session == null) {
+            throw new ApiException(Response.Status.NOT_FOUND.getStatusCode(), "Cannot get session for project");
+        }
+        return session;
+    }
+
+    /**
+     * @throws ApiException if the project does not exist
+     */
+    public void openProject(String projectName) throws ApiException, CoreException {
+        getProject(projectName).open(null);
+    }
+
+    /**
+     * @throws ApiException if the project does not exist
+     */
+    public void closeProject(String projectName) throws ApiException, CoreException {
+        getProject(projectName).close(null);
+    }
+
+    /**
+     * @throws ApiException if the project does not exist
+     */
+    public void deleteProject(String projectName, boolean deleteContents) throws ApiException, CoreException {
+        getProject(projectName).delete(deleteContents, true, null);
+    }
+
+    /**
+     * Returns a token that changes whenever a project is added, removed,
+     * opened, closed or modified.
+     */
+    public long getProjectsVersion() {
+        return ChangeFeed.INSTANCE.getLastSequence();
+    }
+
+    /**
+     * Returns the names of all projects, ordered by name.
+     */
+    public List<String> getProjectNames() {
+        IProject[] projects = getRoot().getProjects();
+        List<String> projectNames = new ArrayList<>(projects.length);
+        for (IProject project : projects) {
+            projectNames.add(project.getName());
+        }
+        projectNames.sort(null);
+        return projectNames;
+    }
+
+    public Set<String> getDirtyProjectNames() {
+        return EditorIndex.INSTANCE.getDirtyProjectNames();
+    }
+
+    /**
+     * Returns the project with the given name, dirty if its name is one of
+     * the given names. The project need not exist.
+     */
+    public WorkspaceProject toWorkspaceProject(String projectName, Set<String> dirtyProjectNames) {
+        return new WorkspaceProjectInt(getRoot().getProject(projectName), dirtyProjectNames.contains(projectName));
+    }
+
+    public WorkspaceProject toWorkspaceProject(String projectName) {
+        return new WorkspaceProjectInt(getRoot().getProject(projectName));
+    }
+
+    /**
+     * Returns a token that changes whenever an editor of the project is
+     * opened or closed.
+     */
+    public long getEditorsVersion(String projectName) {
+        return ChangeFeed.INSTANCE.getLastSequence(projectName);
+    }
+
+    public List<DiagramEditor> getDiagramEditors(String projectName) {
+        List<DiagramEditor> diagramEditors = new ArrayList<>();
+        for (SessionEditorInput sessionEditorInput : EditorIndex.INSTANCE.getSessionEditorInputs(projectName)) {
+            DiagramEditor diagramEditor = new DiagramEditor();
+            diagramEditor.setName(sessionEditorInput.getName());
+            diagramEditor.setUri(sessionEditorInput.getURI().toString());
+            String repDesUri = sessionEditorInput.getRepDescUri().toString();
+            diagramEditor.setId(repDesUri.split("#")[1]);
+            diagramEditors.add(diagramEditor);
+        }
+        return diagramEditors;
+    }
+
+    private static DiagramListing getDiagrams(Session session) {
+        return new DiagramListing(SessionCache.INSTANCE.getVersion(session), () -> {
+            // The descriptors are model objects that may change once the
+            // project lock is released, so only their uids and names are kept
+            List<DiagramDescriptor> descriptors = new ArrayList<>();
+            for (DRepresentationDescriptor descriptor : DialectManager.INSTANCE
+                    .getAllRepresentationDescriptors(session)) {
+                descriptors.add(new DiagramDescriptor(descriptor.getUid(), descriptor.getName()));
+            }
+            return descriptors;
+        });
+    }
+
+    /**
+     * Returns the diagrams of the session of the project if it is open,
+     * including unsaved changes, or {@code null}.
+     *
+     * @throws ApiException if the project does not exist
+     */
+    public DiagramListing getOpenSessionDiagrams(String projectName) throws ApiException {
+        Session session = SessionCache.INSTANCE.getOpenSession(getProject(projectName));
+        return session == null ? null : getDiagrams(session);
+    }
+
+    /**
+     * Returns the diagrams of the .aird file the session of the project is
+     * opened from, read without loading the model, or {@code null} if
+     * reading .aird files is disabled or the project has none.
+     *
+     * @throws ApiException if the project does not exist
+     */
+    public DiagramListing getFileDiagrams(String projectName) throws ApiException {
+        if (!AirdDescriptorReader.INSTANCE.isEnabled()) {
+            return null;
+        }
+        File airdFile = SessionCache.findAirdFile(getProject(projectName));
+        if (airdFile == null) {
+            return null;
+        }
+        return new DiagramListing(AirdDescriptorReader.getVersion(airdFile),
+                () -> AirdDescriptorReader.INSTANCE.read(airdFile));
+    }
+
+    /**
+     * Returns the diagrams of the session of the project, opening it if
+     * necessary.
+     *
+     * @throws ApiException if the project does not exist or has no session
+     */
+    public DiagramListing getSessionDiagrams(String projectName) throws ApiException {
+        return getDiagrams(getSession(getProject(projectName)));
+    }
+
+    private static DRepresentationDescriptor findRepresentationDescriptor(Session session, String uid)
+            throws ApiException {
+        for (DRepresentationDescriptor descriptor : DialectManager.INSTANCE.getAllRepresentationDescriptors(session)) {
+            if (uid.equals(descriptor.getUid())) {
+                return descriptor;
+            }
+        }
+        throw new ApiException(Response.Status.NOT_FOUND.getStatusCode(), "Diagram '" + uid + "' not found");
+    }
+
+    /**
+     * Returns the image of the diagram in the given format, {@code svg} or
+     * {@code png}. It is rendered on the UI thread when its file is first
+     * requested.
+     *
+     * @throws ApiException if the format is not supported or the diagram
+     *                      does not exist
+     */
+    public DiagramImage getDiagramImage(String projectName, String diagramId, String format) throws ApiException {
+        DiagramImageCache.Format imageFormat = DiagramImageCache.Format.fromValue(format);
+        if (imageFormat == null) {
+            throw new ApiException(Response.Status.BAD_REQUEST.getStatusCode(),
+                    "Unsupported image format '" + format + "'");
+        }
+        Session session = getSession(getProject(projectName));
+        DRepresentationDescriptor descriptor = findRepresentationDescriptor(session, diagramId);
+        // The cache key changes with every modification of the diagram or of its model
+        return new DiagramImage(DiagramImageCache.INSTANCE.getKey(session, descriptor, imageFormat),
+                imageFormat.getMediaType(), () -> DiagramImageCache.INSTANCE.getImage(session, descriptor, imageFormat));
+    }
+
+    /**
+     * Returns the page of the semantic elements of the project matching all
+     * given criteria, building the element index of its session if
+     * necessary.
+     *
+     * @throws ApiException if the project does not exist or has no session
+     */
+    public ModelElementPage queryElements(String projectName, String id, String metaclass, String name, int offset,
+            int limit) throws ApiException, InterruptedException {
+        ElementIndex index = ElementIndex.get(getSession(getProject(projectName)));
+        ElementIndex.Page page = index.query(id, metaclass, name, offset, limit);
+        List<ModelElement> elements = new ArrayList<>(page.getElements().size());
+        for (EObject eObject : page.getElements()) {
+            ModelElement element = new ModelElement();
+            element.setId(index.getId(eObject));
+            element.setName(index.getName(eObject));
+            element.setMetaclass(eObject.eClass().getName());
+            elements.add(element);
+        }
+        ModelElementPage modelElementPage = new ModelElementPage();
+        modelElementPage.setTotal(page.getTotal());
+        modelElementPage.setOffset(offset);
+        modelElementPage.setLimit(limit);
+        modelElementPage.setElements(elements);
+        return modelElementPage;
+    }
+
+    /**
+     * Imports the project folders and returns one result per location, in
+     * the order of the locations, see {@link ProjectImporter}.
+     */
+    public List<ImportProjectResult> importProjects(List<String> locations) {
+        List<ImportProjectResult> results = new ArrayList<>(locations.size());
+        for (ProjectImporter.Result result : ProjectImporter.importProjects(locations)) {
+            ImportProjectResult importProjectResult = new ImportProjectResult();
+            importProjectResult.setLocation(result.getLocation());
+            importProjectResult.setProject(result.getProjectName());
+            importProjectResult.setStatus(result.getOutcome().toValue());
+            importProjectResult.setMessage(result.getMessage());
+            results.add(importProjectResult);
+        }
+        return results;
+    }
+
+    /**
+     * Runs the operations and returns one result per operation, in the order
+     * of the operations, see {@link ProjectBatch}.
+     */
+    public List<ProjectOperationResult> runProjectOperations(List<ProjectOperation> operations,
+            boolean stopOnError) {
+        List<ProjectBatch.Operation> batch = new ArrayList<>(operations.size());
+        for (ProjectOperation operation : operations) {
+            batch.add(new ProjectBatch.Operation(operation.getProject(), operation.getOperation(),
+                    Boolean.TRUE.equals(operation.getDeleteContents())));
+        }
+        List<ProjectOperationResult> results = new ArrayList<>(operations.size());
+        for (ProjectBatch.Result result : ProjectBatch.run(batch, stopOnError)) {
+            ProjectOperationResult operationResult = new ProjectOperationResult();
+            operationResult.setProject(result.getProjectName());
+            operationResult.setOperation(result.getOperation());
+            operationResult.setStatus(result.getOutcome().toValue());
+            operationResult.setMessage(result.getMessage());
+            operationResult.setDurationMs(TimeUnit.NANOSECONDS.toMillis(result.getDurationNanos()));
+            results.add(operationResult);
+        }
+        return results;
+    }
+
+    /**
+     * Submits a job saving all dirty editors of the project.
+     *
+     * @throws ApiException if the project does not exist
+     */
+    public AsyncJob save(String projectName) throws ApiException {
+        return WorkspaceProjectInt.save(getProject(projectName).getName());
+    }
+}
@@ -3,15 +3,9 @@
 
 package com.deutschebahn.capella.integration;
 
-import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.IPath;
-import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.IEditorPart;
-import org.eclipse.ui.IWorkbench;
-import org.eclipse.ui.IWorkbenchPage;
-import org.eclipse.ui.IWorkbenchWindow;
-import org.eclipse.ui.PlatformUI;
-import org.eclipse.ui.part.FileEditorInput;
+import org.eclipse.ui.IEditorReference;
 
 import com.deutschebahn.capella.model.WorkspaceProject;
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -27,59 +21,43 @@ public class WorkspaceProjectInt extends WorkspaceProject {
     this.computeModified();
   }
 
-  public void computeModified() {
-    this.setModified(false);
-    IWorkbench workbench = PlatformUI.getWorkbench();
-    IWorkbenchWindow[] windows = workbench.getWorkbenchWindows();
-    for (IWorkbenchWindow window : windows) {
-      IWorkbenchPage[] pages = window.getPages();
-      for (IWorkbenchPage page : pages) {
-        IEditorPart[] editors = page.getDirtyEditors();
-        for (IEditorPart editor : editors) {
-          if (editor.getEditorInput() instanceof FileEditorInput) {
-            FileEditorInput input = (FileEditorInput) editor.getEditorInput();
-            IResource resource = input.getFile();
-            if (resource.getProject().equals(this.obj)) {
-              // Found a dirty editor in the project
-              this.setModified(true);
-              return;
-            }
-          }
-        }
-      }
-    }
+  /**
+   * Creates the project with a dirty state that was already computed by the
+   * caller, e.g. once for all projects of a listing.
+   */
+  public WorkspaceProjectInt(org.eclipse.core.resources.IProject obj, boolean modified) {
+    super();
+    this.obj = obj;
+    ReflectionUtils.copyProperties(obj, this);
+    this.setModified(modified);
   }
 
-  public void save() {
-    org.eclipse.core.resources.IProject obj = this.obj;
-    Display.getDefault().asyncExec(new Runnable() {
-      @Override
-      public void run() {
-        IWorkbench workbench = PlatformUI.getWorkbench();
-        IWorkbenchWindow[] workbenchWindows = workbench.getWorkbenchWindows();
+  public void computeModified() {
+    this.setModified(EditorIndex.INSTANCE.isDirty(this.obj.getName()));
+  }
 
-        for (IWorkbenchWindow window : workbenchWindows) {
-          IWorkbenchPage[] pages = window.getPages();
-          for (IWorkbenchPage page : pages) {
-            IEditorPart[] editors = page.getDirtyEditors();
-            for (IEditorPart editor : editors) {
-              if (editor.getEditorInput() instanceof FileEditorInput) {
-                FileEditorInput input = (FileEditorInput) editor.getEditorInput();
-                IResource resource = input.getFile();
-                org.eclipse.core.resources.IProject editorProject = resource.getProject();
+  /**
+   * Submits a job saving all dirty editors of the project on the UI thread.
+   */
+  public static AsyncJob save(String projectName) {
+    return JobManager.INSTANCE.submit("save", projectName, () -> saveEditors(projectName));
+  }
 
-                // Check if the editor is associated with the given
-                // project
-                if (obj.equals(editorProject)) {
-                  // Save the editor
-                  page.saveEditor(editor, false);
-                }
-              }
-            }
-          }
-        }
+  /**
+   * Saves all dirty editors of the project. Must be called on the UI thread.
+   */
+  static void saveEditors(String projectName) {
+    for (IEditorReference reference : EditorIndex.INSTANCE.getDirtyEditors(projectName)) {
+      IEditorPart editor = reference.getEditor(false);
+      if (editor != null) {
+        reference.getPage().saveEditor(editor, false);
       }
-    });
+    }
+    int unsaved = EditorIndex.INSTANCE.getDirtyEditors(projectName).size();
+    if (unsaved > 0) {
+      throw new IllegalStateException(unsaved + " editor(s) of project '" + projectName
+          + "' could not be saved");
+    }
   }
 
   public void setFullPath(IPath fullPath) {
@@ -0,0 +1,34 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.metrics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A counter with one series per combination of label values.
+ */
+public class Counter extends Metric {
+    private final List<String> labelNames;
+    private final Map<List<String>, LongAdder> series = new ConcurrentHashMap<>();
+
+    Counter(String name, String help, String... labelNames) {
+        super(name, help, "counter");
+        this.labelNames = Arrays.asList(labelNames);
+    }
+
+    public void increment(String... labelValues) {
+        series.computeIfAbsent(Arrays.asList(labelValues), k -> new LongAdder()).increment();
+    }
+
+    @Override
+    protected void writeSamples(StringBuilder out) {
+        for (Map.Entry<List<String>, LongAdder> entry : series.entrySet()) {
+            appendSample(out, getName(), labelNames, entry.getKey(), null, null, entry.getValue().sum());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.metrics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of durations in seconds with one series per combination of
+ * label values. Observations are counted in the first bucket they fit in,
+ * the cumulative counts are computed when the histogram is written.
+ */
+public class Histogram extends Metric {
+    static final double[] DEFAULT_BUCKETS = { 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5,
+            5, 10, 30 };
+
+    private static class Series {
+        final LongAdder[] counts;
+        final DoubleAdder sum = new DoubleAdder();
+
+        Series(int buckets) {
+            counts = new LongAdder[buckets + 1];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = new LongAdder();
+            }
+        }
+    }
+
+    private final List<String> labelNames;
+    private final double[] buckets;
+    private final Map<List<String>, Series> series = new ConcurrentHashMap<>();
+
+    Histogram(String name, String help, double[] buckets, String... labelNames) {
+        super(name, help, "histogram");
+        this.labelNames = Arrays.asList(labelNames);
+        this.buckets = buckets;
+    }
+
+    public void observe(double seconds, String... labelValues) {
+        Series s = series.computeIfAbsent(Arrays.asList(labelValues), k -> new Series(buckets.length));
+        int bucket = 0;
+        while (bucket < buckets.length && seconds > buckets[bucket]) {
+            bucket++;
+        }
+        s.counts[bucket].increment();
+        s.sum.add(seconds);
+    }
+
+    public void observeNanos(long nanos, String... labelValues) {
+        observe(nanos / 1e9, labelValues);
+    }
+
+    @Override
+    protected void writeSamples(StringBuilder out) {
+        String bucketName = getName() + "_bucket";
+        for (Map.Entry<List<String>, Series> entry : series.entrySet()) {
+            Series s = entry.getValue();
+            long cumulative = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                cumulative += s.counts[i].sum();
+                appendSample(out, bucketName, labelNames, entry.getKey(), "le", Double.toString(buckets[i]),
+                        cumulative);
+            }
+            cumulative += s.counts[buckets.length].sum();
+            appendSample(out, bucketName, labelNames, entry.getKey(), "le", "+Inf", cumulative);
+            appendSample(out, getName() + "_sum", labelNames, entry.getKey(), null, null, s.sum.sum());
+            appendSample(out, getName() + "_count", labelNames, entry.getKey(), null, null, cumulative);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.metrics;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Heap usage and garbage collection figures of the JVM running Capella.
+ */
+class JvmMetrics extends Metric {
+    private static final List<String> NO_LABELS = Collections.emptyList();
+    private static final List<String> GC_LABEL = Collections.singletonList("gc");
+
+    JvmMetrics() {
+        super("jvm_memory_heap_used_bytes", "Used heap memory in bytes", "gauge");
+    }
+
+    private static void writeHeader(StringBuilder out, String name, String help, String type) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    @Override
+    protected void writeSamples(StringBuilder out) {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        appendSample(out, getName(), NO_LABELS, NO_LABELS, null, null, heap.getUsed());
+        writeHeader(out, "jvm_memory_heap_committed_bytes", "Committed heap memory in bytes", "gauge");
+        appendSample(out, "jvm_memory_heap_committed_bytes", NO_LABELS, NO_LABELS, null, null, heap.getCommitted());
+        writeHeader(out, "jvm_memory_heap_max_bytes", "Maximum heap memory in bytes, -1 if undefined", "gauge");
+        appendSample(out, "jvm_memory_heap_max_bytes", NO_LABELS, NO_LABELS, null, null, heap.getMax());
+
+        List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+        writeHeader(out, "jvm_gc_collections_total", "Number of garbage collections", "counter");
+        for (GarbageCollectorMXBean collector : collectors) {
+            appendSample(out, "jvm_gc_collections_total", GC_LABEL, Collections.singletonList(collector.getName()),
+                    null, null, Math.max(0, collector.getCollectionCount()));
+        }
+        writeHeader(out, "jvm_gc_collection_seconds_total", "Time spent in garbage collections in seconds",
+                "counter");
+        for (GarbageCollectorMXBean collector : collectors) {
+            appendSample(out, "jvm_gc_collection_seconds_total", GC_LABEL,
+                    Collections.singletonList(collector.getName()), null, null,
+                    Math.max(0, collector.getCollectionTime()) / 1000.0);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.metrics;
+
+import java.util.List;
+
+/**
+ * A metric family that writes itself in the Prometheus text exposition
+ * format.
+ */
+public abstract class Metric {
+    private final String name;
+    private final String help;
+    private final String type;
+
+    protected Metric(String name, String help, String type) {
+        this.name = name;
+        this.help = help;
+        this.type = type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    void write(StringBuilder out) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        writeSamples(out);
+    }
+
+    protected abstract void writeSamples(StringBuilder out);
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+            case '\\':
+                out.append("\\\\");
+                break;
+            case '"':
+                out.append("\\\"");
+                break;
+            case '\n':
+                out.append("\\n");
+                break;
+            default:
+                out.append(c);
+                break;
+            }
+        }
+    }
+
+    /**
+     * Appends a sample line, e.g. {@code name{a="x",le="0.1"} 42}. The extra
+     * label is appended after the given labels if its name is not
+     * {@code null}.
+     */
+    protected static void appendSample(StringBuilder out, String name, List<String> labelNames,
+            List<String> labelValues, String extraLabelName, String extraLabelValue, double value) {
+        out.append(name);
+        if (!labelNames.isEmpty() || extraLabelName != null) {
+            out.append('{');
+            for (int i = 0; i < labelNames.size(); i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                out.append(labelNames.get(i)).append("=\"");
+                appendEscaped(out, labelValues.get(i));
+                out.append('"');
+            }
+            if (extraLabelName != null) {
+                if (!labelNames.isEmpty()) {
+                    out.append(',');
+                }
+                out.append(extraLabelName).append("=\"");
+                appendEscaped(out, extraLabelValue);
+                out.append('"');
+            }
+            out.append('}');
+        }
+        out.append(' ');
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+}
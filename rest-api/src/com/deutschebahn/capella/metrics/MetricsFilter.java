@@ -0,0 +1,50 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.metrics;
+
+import java.lang.reflect.Method;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Counts requests by operation and status code and records their latency
+ * until the response headers are written. The operation is the name of the
+ * resource method, e.g. {@code listProjects}.
+ */
+@Provider
+public class MetricsFilter implements ContainerRequestFilter, ContainerResponseFilter {
+    private static final String START_PROPERTY = MetricsFilter.class.getName() + ".start";
+    private static final String UNMATCHED = "unmatched";
+
+    private static final Counter REQUESTS = MetricsRegistry.INSTANCE.counter("capella_api_requests_total",
+            "Number of API requests by operation and status code", "operation", "status");
+    private static final Histogram DURATION = MetricsRegistry.INSTANCE.histogram(
+            "capella_api_request_duration_seconds", "Latency of API requests by operation in seconds",
+            "operation");
+
+    @Context
+    private ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        requestContext.setProperty(START_PROPERTY, System.nanoTime());
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        Object start = requestContext.getProperty(START_PROPERTY);
+        Method method = resourceInfo.getResourceMethod();
+        String operation = method == null ? UNMATCHED : method.getName();
+        REQUESTS.increment(operation, Integer.toString(responseContext.getStatus()));
+        if (start instanceof Long) {
+            DURATION.observeNanos(System.nanoTime() - (Long) start, operation);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.metrics;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Metrics of the REST API server, exposed in the Prometheus text format on
+ * {@code /metrics}.
+ *
+ * Components create their metrics once, typically in static fields, and
+ * update them without locking.
+ */
+public class MetricsRegistry {
+    public static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final List<Metric> metrics = new CopyOnWriteArrayList<>();
+
+    private MetricsRegistry() {
+        metrics.add(new JvmMetrics());
+    }
+
+    private <T extends Metric> T register(T metric) {
+        metrics.add(metric);
+        return metric;
+    }
+
+    public Counter counter(String name, String help, String... labelNames) {
+        return register(new Counter(name, help, labelNames));
+    }
+
+    public Histogram histogram(String name, String help, String... labelNames) {
+        return register(new Histogram(name, help, Histogram.DEFAULT_BUCKETS, labelNames));
+    }
+
+    /**
+     * Registers a gauge whose value is read when the metrics are written.
+     */
+    public void gauge(String name, String help, DoubleSupplier supplier) {
+        register(new SampledMetric(name, help, "gauge", supplier));
+    }
+
+    /**
+     * Registers a counter whose value is read when the metrics are written.
+     */
+    public void counter(String name, String help, DoubleSupplier supplier) {
+        register(new SampledMetric(name, help, "counter", supplier));
+    }
+
+    /**
+     * Returns all metrics in the Prometheus text exposition format.
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(8192);
+        for (Metric metric : metrics) {
+            metric.write(out);
+        }
+        return out.toString();
+    }
+}
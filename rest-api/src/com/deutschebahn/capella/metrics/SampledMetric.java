@@ -0,0 +1,26 @@
+// Copyright DB InfraGO AG and contributors
+// SPDX-License-Identifier: Apache-2.0
+
+package com.deutschebahn.capella.metrics;
+
+import java.util.Collections;
+import java.util.function.DoubleSupplier;
+
+/**
+ * A gauge or counter without labels whose value is read from a supplier when
+ * it is written, e.g. from the statistics a component keeps anyway.
+ */
+class SampledMetric extends Metric {
+    private final DoubleSupplier supplier;
+
+    SampledMetric(String name, String help, String type, DoubleSupplier supplier) {
+        super(name, help, type);
+        this.supplier = supplier;
+    }
+
+    @Override
+    protected void writeSamples(StringBuilder out) {
+        appendSample(out, getName(), Collections.emptyList(), Collections.emptyList(), null, null,
+                supplier.getAsDouble());
+    }
+}